@@ -0,0 +1,144 @@
+package dev.thihup.joel.tests;
+
+import jakarta.el.ArrayELResolver;
+import jakarta.el.ELContext;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.ListELResolver;
+import jakarta.el.MapELResolver;
+import jakarta.el.PropertyNotWritableException;
+import jakarta.el.ResourceBundleELResolver;
+import jakarta.el.StandardELContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollectionResolverTest {
+
+    private final ELContext context = new StandardELContext(ExpressionFactory.newInstance());
+
+    @Test
+    void writableListIsNotModifiedByIsReadOnly() {
+        var list = new ArrayList<>(List.of(1, 2));
+        assertFalse(new ListELResolver().isReadOnly(context, list, 0));
+        assertEquals(List.of(1, 2), list);
+    }
+
+    @Test
+    void unmodifiableListsAreReadOnly() {
+        var resolver = new ListELResolver();
+        assertTrue(resolver.isReadOnly(context, List.of(1), 0));
+        assertTrue(resolver.isReadOnly(context, List.of(1, 2, 3), 0));
+        assertTrue(resolver.isReadOnly(context, Collections.unmodifiableList(new ArrayList<>(List.of(1))), 0));
+        assertTrue(resolver.isReadOnly(context, Collections.singletonList(1), 0));
+        assertThrows(PropertyNotWritableException.class, () -> resolver.setValue(context, List.of(1), 0, 2));
+    }
+
+    @Test
+    void writableMapIsReadWrite() {
+        var map = new HashMap<>(Map.of("a", 1));
+        assertFalse(new MapELResolver().isReadOnly(context, map, "a"));
+        assertEquals(Map.of("a", 1), map);
+    }
+
+    @Test
+    void unmodifiableMapsAreReadOnly() {
+        var resolver = new MapELResolver();
+        assertTrue(resolver.isReadOnly(context, Map.of("a", 1), "a"));
+        assertTrue(resolver.isReadOnly(context, Collections.unmodifiableMap(new HashMap<>()), "a"));
+        assertTrue(resolver.isReadOnly(context, Collections.emptyMap(), "a"));
+        assertThrows(PropertyNotWritableException.class, () -> resolver.setValue(context, Map.of("a", 1), "a", 2));
+    }
+
+    @Test
+    void linkedListIsReadInAnyOrder() {
+        var list = new LinkedList<>(List.of("a", "b", "c", "d"));
+        var resolver = new ListELResolver();
+        var read = new ArrayList<>();
+        for (int index : new int[]{0, 1, 1, 2, 0, 3, 2, 3}) {
+            read.add(resolver.getValue(context, list, index));
+        }
+        assertEquals(List.of("a", "b", "b", "c", "a", "d", "c", "d"), read);
+
+        list.add(1, "z");
+        assertEquals("z", resolver.getValue(context, list, 1));
+        assertEquals("b", resolver.getValue(context, list, 2));
+    }
+
+    @Test
+    void linkedListReadsLeaveTheContextObjectsAlone() {
+        var keys = new ArrayList<Class<?>>();
+        var context = new StandardELContext(ExpressionFactory.newInstance()) {
+            @Override
+            public void putContext(Class<?> key, Object contextObject) {
+                keys.add(key);
+                super.putContext(key, contextObject);
+            }
+        };
+        keys.clear();
+        var list = new LinkedList<>(List.of("a", "b", "c"));
+        var resolver = new ListELResolver();
+        assertEquals("a", resolver.getValue(context, list, 0));
+        assertEquals("b", resolver.getValue(context, list, 1));
+        assertEquals("c", resolver.getValue(context, list, 2));
+        assertEquals(List.of(), keys);
+    }
+
+    @Test
+    void numericIndicesAreAccepted() {
+        var list = List.of("a", "b");
+        var resolver = new ListELResolver();
+        assertEquals("b", resolver.getValue(context, list, 1L));
+        assertEquals("b", resolver.getValue(context, list, (short) 1));
+        assertEquals("b", resolver.getValue(context, list, "1"));
+    }
+
+    @Test
+    void arrayElementsAreReadAndWritten() {
+        var resolver = new ArrayELResolver();
+        var array = new String[]{"a", "b"};
+        assertEquals("b", resolver.getValue(context, array, 1L));
+        resolver.setValue(context, array, 0, "c");
+        assertArrayEquals(new String[]{"c", "b"}, array);
+        assertEquals(3, resolver.getValue(context, new int[]{1, 2, 3}, 2));
+        assertEquals(null, resolver.getValue(context, new int[]{1, 2, 3}, 3));
+    }
+
+    @Test
+    void resourceBundleKeysAreResolvedPerBundle() {
+        var resolver = new ResourceBundleELResolver();
+        var english = new Bundle("Hello");
+        var german = new Bundle("Hallo");
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals("???missing" + i + "???", resolver.getValue(context, english, "missing" + i));
+        }
+        assertEquals("Hello", resolver.getValue(context, english, "greeting"));
+        assertEquals("Hallo", resolver.getValue(context, german, "greeting"));
+        assertEquals("???missing0???", resolver.getValue(context, english, "missing0"));
+        assertEquals("???missing999???", resolver.getValue(context, german, "missing999"));
+    }
+
+    private static final class Bundle extends ListResourceBundle {
+        private final String greeting;
+
+        private Bundle(String greeting) {
+            this.greeting = greeting;
+        }
+
+        @Override
+        protected Object[][] getContents() {
+            return new Object[][]{{"greeting", greeting}};
+        }
+    }
+}
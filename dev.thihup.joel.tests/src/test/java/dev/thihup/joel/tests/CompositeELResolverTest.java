@@ -0,0 +1,97 @@
+package dev.thihup.joel.tests;
+
+import jakarta.el.CompositeELResolver;
+import jakarta.el.ELContext;
+import jakarta.el.ELProcessor;
+import jakarta.el.ELResolver;
+import jakarta.el.ListELResolver;
+import jakarta.el.MapELResolver;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CompositeELResolverTest {
+
+    @Test
+    void resolverAddedAfterEvaluationIsConsulted() {
+        var elProcessor = new ELProcessor();
+        elProcessor.defineBean("text", "abc");
+        assertEquals(List.of(1L), elProcessor.eval("[1]"));
+        elProcessor.getELManager().addELResolver(new ListELResolver() {
+            @Override
+            public Object getValue(ELContext context, Object base, Object property) {
+                if (base instanceof String string && "size".equals(property)) {
+                    context.setPropertyResolved(base, property);
+                    return (long) string.length();
+                }
+                return super.getValue(context, base, property);
+            }
+        });
+        assertEquals(3L, elProcessor.<Long>eval("text.size"));
+    }
+
+    @Test
+    void skipsResolversOnlyForBasesTheyNeverHandle() {
+        var composite = new CompositeELResolver();
+        composite.add(new MapELResolver());
+        composite.add(new ListELResolver());
+        var context = new ELProcessor().getELManager().getELContext();
+        assertEquals(2, composite.getValue(context, Map.of("a", 2), "a"));
+        assertEquals("x", composite.getValue(context, List.of("x"), 0));
+        composite.add(new MapELResolver() {
+            @Override
+            public Object getValue(ELContext context, Object base, Object property) {
+                context.setPropertyResolved(base, property);
+                return "any";
+            }
+        });
+        assertEquals("any", composite.getValue(context, "plain", "x"));
+        assertEquals(2, composite.getValue(context, Map.of("a", 2), "a"));
+    }
+
+    @Test
+    void manyShortLivedContexts() {
+        for (int i = 0; i < 10_000; i++) {
+            var elProcessor = new ELProcessor();
+            elProcessor.defineBean("values", Map.of("list", List.of(i)));
+            assertEquals(List.of(i), elProcessor.eval("values.list"));
+            assertEquals(i, elProcessor.eval("values.list[0]"));
+        }
+    }
+
+    @Test
+    void baseClassesCanBeUnloaded() throws InterruptedException {
+        var composite = new CompositeELResolver();
+        composite.add(new ListELResolver());
+        composite.add(new MapELResolver() {
+            @Override
+            public Object getValue(ELContext context, Object base, Object property) {
+                context.setPropertyResolved(base, property);
+                return base.getClass().getSimpleName();
+            }
+        });
+        var context = new ELProcessor().getELManager().getELContext();
+        WeakReference<ClassLoader> loader = resolveIsolatedProbe(composite, context);
+        for (int i = 0; i < 100 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(loader.get());
+        assertEquals("String", composite.getValue(context, "text", "x"));
+    }
+
+    // The proxy class is defined by a fresh loader, so both can be collected once the resolver lets go of the class.
+    private static WeakReference<ClassLoader> resolveIsolatedProbe(ELResolver resolver, ELContext context) {
+        var loader = new ClassLoader(CompositeELResolverTest.class.getClassLoader()) {
+        };
+        Object probe = Proxy.newProxyInstance(loader, new Class<?>[]{Runnable.class}, (proxy, method, arguments) -> null);
+        assertEquals(probe.getClass().getSimpleName(), resolver.getValue(context, probe, "x"));
+        return new WeakReference<>(loader);
+    }
+}
@@ -1,6 +1,7 @@
 package dev.thihup.joel.tests;
 
 import jakarta.el.ELProcessor;
+import jakarta.el.ExpressionFactory;
 import jakarta.el.PropertyNotWritableException;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -45,6 +46,24 @@ class ELProcessorTest {
         assertEquals(10, elProcessor.<Integer>eval("customer.age"));
     }
 
+    record Address(String street, int number) {
+    }
+
+    @Test
+    void recordComponent() {
+        ELProcessor elProcessor = new ELProcessor();
+        elProcessor.defineBean("address", new Address("Main", 10));
+        assertEquals("Main", elProcessor.eval("address.street"));
+        assertEquals(10, elProcessor.<Integer>eval("address.number"));
+    }
+
+    @Test
+    void recordComponentIsNotWritable() {
+        ELProcessor elProcessor = new ELProcessor();
+        elProcessor.defineBean("address", new Address("Main", 10));
+        assertThrows(PropertyNotWritableException.class, () -> elProcessor.setValue("address.number", 11));
+    }
+
     @Test
     void setBean2() {
         ELProcessor elProcessor = new ELProcessor();
@@ -73,4 +92,27 @@ class ELProcessorTest {
         ELProcessor elProcessor = new ELProcessor();
         assertThrows(PropertyNotWritableException.class, () -> elProcessor.eval("1 + 1 == 2 ? 10 : a = 5"));
     }
+
+    @Test
+    void repeatedEvaluationSeesNewState() {
+        ELProcessor elProcessor = new ELProcessor();
+        elProcessor.defineBean("customer", new Customer("John", 25));
+        assertEquals(25L, elProcessor.getValue("customer.age", Long.class));
+        elProcessor.setValue("customer.age", 30);
+        assertEquals(30L, elProcessor.getValue("customer.age", Long.class));
+        assertEquals("30", elProcessor.getValue("customer.age", String.class));
+        elProcessor.defineBean("customer", new Customer("Mary", 40));
+        assertEquals(40L, elProcessor.getValue("customer.age", Long.class));
+    }
+
+    @Test
+    void redefinedVariable() {
+        ELProcessor elProcessor = new ELProcessor();
+        elProcessor.setVariable("limit", "10");
+        assertEquals(11L, elProcessor.eval("limit + 1"));
+        elProcessor.setVariable("limit", "20");
+        assertEquals(21L, elProcessor.eval("limit + 1"));
+        elProcessor.getELManager().setVariable("limit", ExpressionFactory.newInstance().createValueExpression(30L, Long.class));
+        assertEquals(31L, elProcessor.eval("limit + 1"));
+    }
 }
@@ -0,0 +1,83 @@
+package dev.thihup.joel.tests;
+
+import jakarta.el.ImportHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportHandlerTest {
+
+    @Test
+    void unresolvedClassIsResolvedAfterImport() {
+        var importHandler = new ImportHandler();
+        assertNull(importHandler.resolveClass("ArrayList"));
+        assertNull(importHandler.resolveClass("ArrayList"));
+
+        importHandler.importPackage("java.util");
+        assertEquals(java.util.ArrayList.class, importHandler.resolveClass("ArrayList"));
+        assertEquals(String.class, importHandler.resolveClass("String"));
+    }
+
+    @Test
+    void unresolvedStaticIsResolvedAfterImport() {
+        var importHandler = new ImportHandler();
+        assertNull(importHandler.resolveStatic("emptyList"));
+
+        importHandler.importStatic("java.util.Collections.emptyList");
+        assertEquals(java.util.Collections.class, importHandler.resolveStatic("emptyList"));
+        assertEquals(java.util.Collections.class, importHandler.resolveStatic("emptyList"));
+    }
+
+    @Test
+    void missingStaticClassIsNotResolved() {
+        var importHandler = new ImportHandler();
+        importHandler.importStatic("does.not.Exist.field");
+        assertNull(importHandler.resolveStatic("field"));
+        assertNull(importHandler.resolveStatic("field"));
+    }
+
+    @Test
+    void alternatingContextClassLoadersDoNotReloadClasses() {
+        var importHandler = new ImportHandler();
+        CountingLoader first = new CountingLoader();
+        CountingLoader second = new CountingLoader();
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(Integer.class, withContextLoader(first, () -> importHandler.resolveClass("Integer")));
+            assertSame(Integer.class, withContextLoader(second, () -> importHandler.resolveClass("Integer")));
+        }
+        assertTrue(first.loads.get() <= 1, () -> first.loads + " loads");
+        assertTrue(second.loads.get() <= 1, () -> second.loads + " loads");
+    }
+
+    private static <T> T withContextLoader(ClassLoader loader, Supplier<T> action) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            return action.get();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static final class CountingLoader extends ClassLoader {
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private CountingLoader() {
+            super(ImportHandlerTest.class.getClassLoader());
+        }
+
+        @Override
+        public Class<?> loadClass(String name) throws ClassNotFoundException {
+            loads.incrementAndGet();
+            return super.loadClass(name);
+        }
+    }
+}
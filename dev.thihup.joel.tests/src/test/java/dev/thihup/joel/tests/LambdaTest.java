@@ -1,15 +1,21 @@
 package dev.thihup.joel.tests;
 
+import jakarta.el.ELException;
 import jakarta.el.ELProcessor;
+import jakarta.el.ExpressionFactory;
 import jakarta.el.LambdaExpression;
+import jakarta.el.StandardELContext;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LambdaTest {
@@ -20,6 +26,17 @@ class LambdaTest {
         assertTrue(eval instanceof LambdaExpression);
     }
 
+    @Test
+    void closuresDoNotSeeChangesToTheArgumentArray() {
+        var elProcessor = new ELProcessor();
+        var context = elProcessor.getELManager().getELContext();
+        var lambda = (LambdaExpression) elProcessor.eval("x -> y -> x + y");
+        Object[] arguments = {1L};
+        var closure = (LambdaExpression) lambda.invoke(context, arguments);
+        arguments[0] = 2L;
+        assertEquals(11L, closure.invoke(context, 10L));
+    }
+
     @Test
     void testSimpleLambda2() {
         var elProcessor = new ELProcessor();
@@ -200,4 +217,117 @@ class LambdaTest {
         assertEquals(5L, eval);
     }
 
+    @Test
+    void innerParameterShadowsOuterParameter() {
+        var elProcessor = new ELProcessor();
+        var eval = (Long) elProcessor.eval("(x -> (x -> x * 2)(x + 1))(10)");
+        assertEquals(22L, eval);
+    }
+
+    @Test
+    void curriedLambdaCapturesOuterArgument() {
+        var elProcessor = new ELProcessor();
+        elProcessor.eval("add = x -> y -> x + y");
+        var eval = (Long) elProcessor.eval("add5 = add(5); add(1)(1) + add5(10)");
+        assertEquals(17L, eval);
+    }
+
+    @Test
+    void nestedStreamLambdaReadsOuterArgument() {
+        var elProcessor = new ELProcessor();
+        var eval = elProcessor.eval("[1, 2].stream().map(x -> [10, 20].stream().map(y -> x * y).toList()).toList()");
+        assertEquals(List.of(List.of(10L, 20L), List.of(20L, 40L)), eval);
+    }
+
+    @Test
+    void returnedLambdaExpressionCapturesArgumentsWithoutSharing() {
+        var factory = ExpressionFactory.newInstance();
+        var context = new StandardELContext(factory);
+        var adder = new LambdaExpression(List.of("y"), factory.createValueExpression(context, "${x + y}", Object.class));
+        var curried = new LambdaExpression(List.of("x"), factory.createValueExpression(adder, LambdaExpression.class));
+
+        var add5 = (LambdaExpression) curried.invoke(context, 5L);
+        var add1 = (LambdaExpression) curried.invoke(context, 1L);
+        assertEquals(15L, add5.invoke(context, 10L));
+        assertEquals(11L, add1.invoke(context, 10L));
+    }
+
+    @Test
+    void parallelStreamEvaluatesLambdasOnEveryWorker() {
+        var elProcessor = new ELProcessor();
+        elProcessor.defineBean("data", LongStream.rangeClosed(1, 100_000).boxed().toList());
+        assertEquals(33_333L, elProcessor.<Long>eval("(factor -> data.parallelStream().map(x -> x * factor).filter(x -> x % 3 == 0).count())(2)"));
+        assertEquals(5_000_150_000L, elProcessor.<Long>eval("data.stream().parallel().map(x -> x + 1).sum()"));
+    }
+
+    @Test
+    void parallelAfterIntermediateOperations() {
+        var elProcessor = new ELProcessor();
+        elProcessor.defineBean("data", LongStream.rangeClosed(1, 100_000).boxed().toList());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(33_333L, elProcessor.<Long>eval("(factor -> data.stream().map(x -> x * factor).filter(x -> x % 3 == 0).parallel().count())(2)"));
+            assertEquals(10_000_100_000L, elProcessor.<Long>eval("(factor -> data.stream().map(x -> [x].stream().map(y -> y * factor).toList()[0]).parallel().toList())(2).stream().sum()"));
+        }
+    }
+
+    @Test
+    void sumKeepsTheTypeOfTheElements() {
+        var elProcessor = new ELProcessor();
+        assertEquals(6L, elProcessor.<Object>eval("[1, 2, 3].stream().sum()"));
+        assertEquals(0.6, elProcessor.<Object>eval("[0.1, 0.2, 0.3].stream().sum()"));
+        elProcessor.defineBean("amounts", List.of(new BigDecimal("0.10"), new BigDecimal("0.20")));
+        assertEquals(new BigDecimal("0.30"), elProcessor.<Object>eval("amounts.stream().sum()"));
+        elProcessor.defineBean("large", List.of(Long.MAX_VALUE, 1L));
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), elProcessor.<Object>eval("large.stream().sum()"));
+    }
+
+    @Test
+    void averageOfDoubles() {
+        var elProcessor = new ELProcessor();
+        assertEquals(2.0, ((Optional<?>) elProcessor.eval("[1, 2, 3].stream().average()")).orElseThrow());
+        assertEquals(0.25, ((Optional<?>) elProcessor.eval("[0.5, 0.0].stream().average()")).orElseThrow());
+        assertTrue(((Optional<?>) elProcessor.eval("[].stream().average()")).isEmpty());
+    }
+
+    @Test
+    void streamPipelineOverCollection() {
+        var elProcessor = new ELProcessor();
+        elProcessor.defineBean("data", LongStream.rangeClosed(1, 10).boxed().toList());
+        assertEquals(List.of(4L, 8L, 12L), elProcessor.eval("data.stream().filter(x -> x % 2 == 0).map(x -> x * 2).limit(3).toList()"));
+        assertEquals(5L, elProcessor.<Long>eval("data.stream().filter(x -> x > 5).count()"));
+        assertEquals(30L, elProcessor.<Object>eval("data.stream().filter(x -> x % 2 == 0).sum()"));
+        assertEquals(true, elProcessor.eval("data.stream().map(x -> x * x).anyMatch(x -> x == 49)"));
+        assertEquals(false, elProcessor.eval("data.stream().limit(0).anyMatch(x -> true)"));
+    }
+
+    @Test
+    void streamPipelineLambdasCanBeCaptured() {
+        var elProcessor = new ELProcessor();
+        var eval = (List<?>) elProcessor.eval("[1, 2, 3].stream().map(x -> y -> x + y).toList()");
+        var elContext = elProcessor.getELManager().getELContext();
+        assertEquals(11L, ((LambdaExpression) eval.get(0)).invoke(elContext, 10L));
+        assertEquals(13L, ((LambdaExpression) eval.get(2)).invoke(elContext, 10L));
+        assertEquals(List.of(4L, 5L), elProcessor.eval("(n -> [1, 2].stream().map(x -> x + n).toList())(3)"));
+    }
+
+    @Test
+    void streamPipelineRejectsNegativeLimit() {
+        var elProcessor = new ELProcessor();
+        assertThrows(ELException.class, () -> elProcessor.eval("[1, 2].stream().limit(-1).toList()"));
+    }
+
+    @Test
+    void streamPipelineOverNonCollectionSource() {
+        var elProcessor = new ELProcessor();
+        elProcessor.defineBean("value", Optional.of(20L));
+        assertEquals(List.of(21L), elProcessor.eval("value.stream().map(x -> x + 1).toList()"));
+    }
+
+    @Test
+    void comparisonFiltersKeepElSemanticsOverCollections() {
+        var elProcessor = new ELProcessor();
+        elProcessor.defineBean("values", Arrays.asList(1, null, 2.5, "3", 4L));
+        assertEquals(List.of(2.5, "3", 4L), elProcessor.eval("values.stream().filter(x -> x > 2).toList()"));
+        assertEquals(List.of(2.5), elProcessor.eval("values.stream().filter(x -> x == 2.5).toList()"));
+    }
 }
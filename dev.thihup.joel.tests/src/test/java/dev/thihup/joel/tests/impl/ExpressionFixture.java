@@ -0,0 +1,39 @@
+package dev.thihup.joel.tests.impl;
+
+import dev.thihup.joel.impl.spi.JoelExpressionFactory;
+import jakarta.el.ELResolver;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.StandardELContext;
+import jakarta.el.ValueExpression;
+
+// A Joel factory and a fresh standard context, shared by the tests that evaluate expressions against variables.
+public final class ExpressionFixture {
+    private final ExpressionFactory factory = new JoelExpressionFactory();
+    private final StandardELContext context = new StandardELContext(factory);
+
+    public ExpressionFixture(ELResolver... resolvers) {
+        for (ELResolver resolver : resolvers)
+            context.addELResolver(resolver);
+    }
+
+    public ExpressionFactory factory() {
+        return factory;
+    }
+
+    public StandardELContext context() {
+        return context;
+    }
+
+    public ExpressionFixture define(String name, Object value) {
+        context.getVariableMapper().setVariable(name, factory.createValueExpression(value, Object.class));
+        return this;
+    }
+
+    public ValueExpression expression(String expression) {
+        return factory.createValueExpression(context, expression, Object.class);
+    }
+
+    public Object eval(String expression) {
+        return expression(expression).getValue(context);
+    }
+}
@@ -0,0 +1,87 @@
+package dev.thihup.joel.tests.impl;
+
+import jakarta.el.ELException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamELResolverTest {
+
+    private final ExpressionFixture fixture = new ExpressionFixture();
+
+    private void define(String name, Object value) {
+        fixture.define(name, value);
+    }
+
+    private Object eval(String expression) {
+        return fixture.eval("${" + expression + "}");
+    }
+
+    @Test
+    void sortByKeyIsStable() {
+        define("words", List.of("pear", "fig", "apple", "kiwi", "plum", "banana", "date", "lime", "nut", "orange"));
+        assertEquals(List.of("fig", "nut", "pear", "kiwi", "plum", "date", "lime", "apple", "banana", "orange"),
+                eval("words.stream().sortedBy(w -> w.length()).toList()"));
+        assertEquals(List.of("apple", "banana", "date", "fig", "kiwi", "lime", "nut", "orange", "pear", "plum"),
+                eval("words.stream().sortedBy(w -> w).toList()"));
+        assertEquals(List.of(3L, 2L, 1L), eval("[1, 2, 3].stream().sortedBy(x -> (x * 1.5) % 2).toList()"));
+    }
+
+    @Test
+    void minAndMaxByKey() {
+        define("words", List.of("pear", "fig", "banana", "nut", "orange"));
+        assertEquals("fig", ((Optional<?>) eval("words.stream().minBy(w -> w.length())")).orElseThrow());
+        assertEquals("banana", ((Optional<?>) eval("words.stream().maxBy(w -> w.length())")).orElseThrow());
+        assertTrue(((Optional<?>) eval("[].stream().maxBy(w -> w)")).isEmpty());
+    }
+
+    @Test
+    void groupingOperations() {
+        define("words", List.of("pear", "fig", "plum", "kiwi", "nut"));
+        assertEquals(Map.of(4L, List.of("pear", "plum", "kiwi"), 3L, List.of("fig", "nut")),
+                eval("words.stream().groupBy(w -> w.length())"));
+        assertEquals(Map.of("long", List.of(4, 4, 4), "short", List.of(3, 3)),
+                eval("words.stream().groupBy(w -> w.length() > 3 ? 'long' : 'short', w -> w.length())"));
+        assertEquals(Map.of(true, List.of("pear", "plum"), false, List.of("fig", "kiwi", "nut")),
+                eval("words.stream().partitionBy(w -> w.startsWith('p'))"));
+        assertEquals(Map.of(4L, 3L, 3L, 2L), eval("words.stream().countBy(w -> w.length())"));
+        assertEquals(Map.of("pear", 4, "fig", 3), eval("words.stream().limit(2).toMap(w -> w, w -> w.length())"));
+        assertThrows(ELException.class, () -> eval("words.stream().toMap(w -> w.length(), w -> w)"));
+    }
+
+    @Test
+    void streamOverPrimitiveArrays() {
+        define("ints", new int[]{5, 12, 3, 40, 11});
+        define("longs", new long[]{Long.MAX_VALUE, 1});
+        define("doubles", new double[]{1.5, -2.0, 8.25});
+        assertEquals(63L, eval("ints.stream().filter(x -> x > 10).sum()"));
+        assertEquals(2L, eval("ints.stream().filter(x -> 10 >= x).count()"));
+        assertEquals(List.of(12, 40), eval("ints.stream().filter(x -> x > 10).limit(2).toList()"));
+        assertEquals(List.of(24L, 80L), eval("ints.stream().filter(x -> x > 10.5).map(x -> x * 2).filter(x -> x != 22).toList()"));
+        assertEquals(40, ((Optional<?>) eval("ints.stream().max()")).orElseThrow());
+        assertEquals(3, ((Optional<?>) eval("ints.stream().min()")).orElseThrow());
+        assertEquals(14.2, ((Optional<?>) eval("ints.stream().average()")).orElseThrow());
+        assertEquals(true, eval("ints.stream().anyMatch(x -> x == 40)"));
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), eval("longs.stream().sum()"));
+        assertEquals(-2.0, ((Optional<?>) eval("doubles.stream().min()")).orElseThrow());
+        assertEquals(9.75, eval("doubles.stream().filter(x -> x > -1).sum()"));
+        assertEquals(List.of(-2.0, 1.5, 8.25), eval("doubles.stream().sorted().toList()"));
+    }
+
+    @Test
+    void nonFiniteDoublesWithBigNumbers() {
+        define("infinite", List.of(new BigDecimal("1.5"), Double.POSITIVE_INFINITY, 2L));
+        define("undefined", List.of(BigInteger.TEN, Double.NaN));
+        assertEquals(Double.POSITIVE_INFINITY, eval("infinite.stream().sum()"));
+        assertEquals(Double.POSITIVE_INFINITY, ((Optional<?>) eval("infinite.stream().average()")).orElseThrow());
+        assertEquals(Double.NaN, eval("undefined.stream().sum()"));
+    }
+}
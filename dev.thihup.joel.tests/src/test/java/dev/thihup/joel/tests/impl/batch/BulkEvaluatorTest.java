@@ -0,0 +1,73 @@
+package dev.thihup.joel.tests.impl.batch;
+
+import dev.thihup.joel.impl.batch.BulkEvaluator;
+import dev.thihup.joel.impl.spi.JoelExpressionFactory;
+import jakarta.el.ELContext;
+import jakarta.el.EvaluationListener;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.StandardELContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BulkEvaluatorTest {
+
+    record Item(String name, long price, long quantity) {
+    }
+
+    private final ExpressionFactory factory = new JoelExpressionFactory();
+    private final ELContext context = new StandardELContext(factory);
+
+    private BulkEvaluator evaluator(String expression, Class<?> expectedType) {
+        return BulkEvaluator.of(factory.createValueExpression(context, expression, expectedType), "item");
+    }
+
+    @Test
+    void evaluatesEveryRootIntoTheResultsArray() {
+        Object[] items = {new Item("a", 3, 2), new Item("b", 5, 1), Map.of("price", 7L, "quantity", 3L)};
+        assertArrayEquals(new Object[]{6L, 5L, 21L}, evaluator("${item.price * item.quantity}", Object.class).evaluate(context, items));
+    }
+
+    @Test
+    void convertsToTheExpectedTypeAndFillsCollections() {
+        List<Object> results = new ArrayList<>();
+        evaluator("${item.price > 4}", String.class).evaluate(context, List.of(new Item("a", 3, 2), new Item("b", 5, 1)), results);
+        assertEquals(List.of("false", "true"), results);
+    }
+
+    @Test
+    void lambdasCreatedPerRootKeepTheirOwnRoot() {
+        Object[] items = {new Item("a", 1, 1), new Item("b", 2, 1)};
+        Object[] results = evaluator("${[10, 20].stream().map(x -> x * item.price).toList()}", Object.class).evaluate(context, items);
+        assertArrayEquals(new Object[]{List.of(10L, 20L), List.of(20L, 40L)}, results);
+    }
+
+    @Test
+    void listenersAreNotifiedOncePerBatch() {
+        var notifications = new AtomicInteger();
+        context.addEvaluationListener(new EvaluationListener() {
+            @Override
+            public void beforeEvaluation(ELContext context, String expression) {
+                notifications.incrementAndGet();
+            }
+        });
+        evaluator("${item.name}", Object.class).evaluate(context, new Object[]{new Item("a", 1, 1), new Item("b", 1, 1)});
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    void largeBatchesCanRunInParallel() {
+        Object[] items = IntStream.range(0, 20_000).mapToObj(i -> new Item("i" + i, i, 2)).toArray();
+        Object[] results = evaluator("${(x -> item.price * x)(item.quantity)}", Object.class).parallel(1_000).evaluate(context, items);
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(i * 2L, results[i]);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package dev.thihup.joel.tests.impl.batch;
+
+import dev.thihup.joel.impl.batch.ColumnBatch;
+import dev.thihup.joel.impl.batch.ColumnResult;
+import dev.thihup.joel.impl.batch.ColumnarEvaluator;
+import dev.thihup.joel.impl.spi.JoelExpressionFactory;
+import jakarta.el.ELContext;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.StandardELContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarEvaluatorTest {
+
+    private final ExpressionFactory factory = new JoelExpressionFactory();
+    private final ELContext context = new StandardELContext(factory);
+
+    private ColumnResult evaluate(String expression, ColumnBatch batch) {
+        return ColumnarEvaluator.of(factory.createValueExpression(context, expression, Object.class)).evaluate(context, batch);
+    }
+
+    @Test
+    void arithmeticOverPrimitiveColumns() {
+        var batch = new ColumnBatch(3)
+                .column("price", new double[]{1.5, 2.0, 10.0})
+                .column("qty", new int[]{2, 3, 4});
+        var result = evaluate("${price * qty + 1}", batch);
+        assertEquals(double.class, result.type());
+        assertArrayEquals(new double[]{4.0, 7.0, 41.0}, result.doubles());
+
+        var quantities = evaluate("${qty * 2 - 1}", batch);
+        assertEquals(long.class, quantities.type());
+        assertArrayEquals(new long[]{3, 5, 7}, quantities.longs());
+        assertArrayEquals(new double[]{1.0, 1.5, 2.0}, evaluate("${qty / 2}", batch).doubles());
+    }
+
+    @Test
+    void resultsDoNotShareTheBatchColumns() {
+        long[] ids = {1, 2, 3};
+        double[] prices = {1.5, 2.0, 10.0};
+        var batch = new ColumnBatch(3).column("id", ids).column("price", prices);
+        evaluate("${id}", batch).longs()[0] = 42;
+        evaluate("${price}", batch).doubles()[0] = 42;
+        assertArrayEquals(new long[]{1, 2, 3}, ids);
+        assertArrayEquals(new double[]{1.5, 2.0, 10.0}, prices);
+        assertArrayEquals(new long[]{1, 2, 3}, evaluate("${id}", batch).longs());
+    }
+
+    @Test
+    void comparisonsAndLogic() {
+        var batch = new ColumnBatch(4)
+                .column("a", List.of(1L, 5L, 10L, 20L))
+                .column("active", new boolean[]{true, false, true, true});
+        var result = evaluate("${a > 3 && active || a == 1}", batch);
+        assertEquals(boolean.class, result.type());
+        assertArrayEquals(new boolean[]{true, false, true, true}, result.booleans());
+        assertArrayEquals(new long[]{1, -5, -10, -20}, evaluate("${a < 3 ? a : -a}", batch).longs());
+    }
+
+    @Test
+    void invariantIdentifiersAreResolvedOnce() {
+        context.getVariableMapper().setVariable("limit", factory.createValueExpression(7L, Long.class));
+        var batch = new ColumnBatch(3).column("x", new long[]{5, 7, 9});
+        assertArrayEquals(new boolean[]{true, true, false}, evaluate("${x <= limit}", batch).booleans());
+    }
+
+    @Test
+    void unsupportedExpressionsFallBackToRowEvaluation() {
+        var batch = new ColumnBatch(3)
+                .column("name", new Object[]{"a", "bb", ""})
+                .column("n", new long[]{1, 2, 3});
+        var result = evaluate("${name += '-' += n}", batch);
+        assertEquals(Object.class, result.type());
+        assertEquals(List.of("a-1", "bb-2", "-3"), Arrays.asList(result.objects()));
+        assertEquals(List.of(1L, 4L, 0L), evaluate("${empty name ? 0 : name.length() * n}", batch).asList().stream()
+                .map(value -> ((Number) value).longValue()).toList());
+        assertEquals(List.of(2L, 4L, 6L), evaluate("${[n].stream().map(x -> x * 2).toList()[0]}", batch).asList());
+    }
+
+    @Test
+    void moduloGuardedByConditionIsNotEvaluatedEagerly() {
+        var batch = new ColumnBatch(2).column("d", new long[]{0, 2});
+        assertEquals(List.of(false, true), evaluate("${d != 0 && 4 % d == 0}", batch).asList());
+    }
+
+    @Test
+    void kernelsAgreeWithTheNodes() {
+        long[] longs = {-7, 0, 3, 9};
+        double[] doubles = {-2.5, 0.0, Double.NaN, 4.0};
+        var batch = new ColumnBatch(4).column("l", longs).column("d", doubles);
+        for (String operator : List.of("+", "-", "*", "/", "%", "<", "<=", ">", ">=", "==", "!=")) {
+            for (String expression : List.of("l %s 2", "d %s l", "l %s d", "d %s 0.5")) {
+                String source = "${" + expression.formatted(operator) + "}";
+                var result = evaluate(source, batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    context.getVariableMapper().setVariable("l", factory.createValueExpression(longs[i], Long.class));
+                    context.getVariableMapper().setVariable("d", factory.createValueExpression(doubles[i], Double.class));
+                    assertEquals(factory.createValueExpression(context, source, Object.class).getValue(context), result.get(i), source);
+                }
+                context.getVariableMapper().setVariable("l", null);
+                context.getVariableMapper().setVariable("d", null);
+            }
+        }
+    }
+
+    @Test
+    void columnsMustMatchTheBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnBatch(2).column("x", new long[]{1}));
+    }
+}
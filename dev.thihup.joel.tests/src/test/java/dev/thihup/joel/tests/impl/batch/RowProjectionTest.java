@@ -0,0 +1,119 @@
+package dev.thihup.joel.tests.impl.batch;
+
+import dev.thihup.joel.impl.batch.RowProjection;
+import dev.thihup.joel.impl.spi.JoelExpressionFactory;
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.LambdaExpression;
+import jakarta.el.StandardELContext;
+import org.junit.jupiter.api.Test;
+
+import java.beans.FeatureDescriptor;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RowProjectionTest {
+
+    private final ExpressionFactory factory = new JoelExpressionFactory();
+    private final StandardELContext context = new StandardELContext(factory);
+    private final Map<Object, Integer> reads = new HashMap<>();
+
+    private RowProjection projection(String... expressions) {
+        return RowProjection.of("row", Arrays.stream(expressions)
+                .map(expression -> factory.createValueExpression(context, expression, Object.class))
+                .toList());
+    }
+
+    @Test
+    void readsEverySharedPropertyOncePerRow() {
+        context.addELResolver(new CountingResolver());
+        var projection = projection("${row.name}", "${row.price * row.quantity}", "${row.price > 10 ? 'high' : 'low'}");
+        var rows = projection.project(context, List.of(new Row("a", 5, 2), new Row("b", 20, 1)));
+        assertEquals(3, projection.width());
+        assertArrayEquals(new Object[]{"a", 10L, "low"}, rows.get(0));
+        assertArrayEquals(new Object[]{"b", 20L, "high"}, rows.get(1));
+        assertEquals(Map.of("name", 2, "price", 2, "quantity", 2), reads);
+    }
+
+    @Test
+    void projectsASingleRowIntoATarget() {
+        Object[] target = new Object[2];
+        projection("${row.a + 1}", "${row.a += row.b}").project(context, Map.of("a", 1L, "b", "x"), target);
+        assertArrayEquals(new Object[]{2L, "1x"}, target);
+    }
+
+    @Test
+    void lambdasKeepTheirRow() {
+        var rows = projection("${x -> row.a + x}").project(context, List.of(Map.of("a", 1L), Map.of("a", 2L)));
+        assertEquals(11L, ((LambdaExpression) rows.get(0)[0]).invoke(context, 10L));
+        assertEquals(12L, ((LambdaExpression) rows.get(1)[0]).invoke(context, 10L));
+    }
+
+    @Test
+    void methodCallsDropMemoizedReads() {
+        var values = projection("${row.count}", "${row.increment()}", "${row.count}").project(context, new Counter());
+        assertArrayEquals(new Object[]{0L, 1L, 1L}, values);
+    }
+
+    public static final class Counter {
+        private long count;
+
+        public long getCount() {
+            return count;
+        }
+
+        public long increment() {
+            return ++count;
+        }
+    }
+
+    static final class Row {
+        private final Map<String, Object> values;
+
+        Row(String name, long price, long quantity) {
+            values = Map.of("name", name, "price", price, "quantity", quantity);
+        }
+    }
+
+    private final class CountingResolver extends ELResolver {
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (!(base instanceof Row row))
+                return null;
+            context.setPropertyResolved(base, property);
+            reads.merge(property, 1, Integer::sum);
+            return row.values.get(property);
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            return null;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            return true;
+        }
+
+        @Override
+        public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+            return null;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return Object.class;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.thihup.joel.tests.impl.binary;
+
+import dev.thihup.joel.impl.binary.BufferRecordELResolver;
+import dev.thihup.joel.impl.binary.RecordBuffer;
+import dev.thihup.joel.impl.binary.RecordLayout;
+import dev.thihup.joel.tests.impl.ExpressionFixture;
+import jakarta.el.PropertyNotFoundException;
+import jakarta.el.PropertyNotWritableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BufferRecordELResolverTest {
+
+    private final ExpressionFixture fixture = new ExpressionFixture(new BufferRecordELResolver());
+    private final RecordLayout layout = new RecordLayout(ByteOrder.LITTLE_ENDIAN)
+            .text("symbol", 4)
+            .field("price", double.class)
+            .field("volume", int.class)
+            .field("halted", boolean.class)
+            .size(24);
+
+    private Object eval(String expression) {
+        return fixture.eval(expression);
+    }
+
+    private static void write(ByteBuffer buffer, String symbol, double price, int volume, boolean halted) {
+        int start = buffer.position();
+        buffer.put(symbol.getBytes()).position(start + 4);
+        buffer.putDouble(price).putInt(volume).put((byte) (halted ? 1 : 0)).position(start + 24);
+    }
+
+    private static void quotes(ByteBuffer buffer) {
+        write(buffer, "ABC", 101.5, 300, false);
+        write(buffer, "XY", 99.25, 100, false);
+        write(buffer, "ABC", 102.0, 200, true);
+        write(buffer, "ABC", 103.0, 50, false);
+    }
+
+    @Test
+    void readsFieldsFromTheBuffer() {
+        assertEquals(24, layout.size());
+        ByteBuffer buffer = ByteBuffer.allocate(layout.size() * 4).order(ByteOrder.LITTLE_ENDIAN);
+        quotes(buffer);
+        fixture.define("quotes", new RecordBuffer(layout, buffer.flip()));
+
+        assertEquals(4, eval("${quotes.size()}"));
+        assertEquals("XY", eval("${quotes[1].symbol}"));
+        assertEquals(true, eval("${quotes[2].halted}"));
+        assertEquals(350L, eval("${quotes.stream().filter(q -> q.symbol == 'ABC' && !q.halted).map(q -> q.volume).sum()}"));
+        assertThrows(PropertyNotFoundException.class, () -> eval("${quotes[0].bid}"));
+    }
+
+    @Test
+    void writesFieldsToTheBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(layout.size() * 4).order(ByteOrder.LITTLE_ENDIAN);
+        quotes(buffer);
+        var quotes = new RecordBuffer(layout, buffer.flip());
+        fixture.define("quotes", quotes);
+
+        fixture.expression("${quotes[1].volume}").setValue(fixture.context(), "150");
+        fixture.expression("${quotes[1].symbol}").setValue(fixture.context(), "Z");
+        assertEquals(150, buffer.getInt(24 + 12));
+        assertEquals("Z", quotes.get(1).get("symbol"));
+
+        fixture.define("quotes", new RecordBuffer(layout, buffer.asReadOnlyBuffer()));
+        assertThrows(PropertyNotWritableException.class, () -> fixture.expression("${quotes[1].volume}").setValue(fixture.context(), 1));
+    }
+
+    @Test
+    void filtersAMemoryMappedFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("quotes.bin");
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            quotes(channel.map(FileChannel.MapMode.READ_WRITE, 0, layout.size() * 4L).order(ByteOrder.LITTLE_ENDIAN));
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var quotes = new RecordBuffer(layout, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            fixture.define("quotes", quotes);
+            assertEquals(List.of(101.5, 102.0, 103.0), eval("${quotes.stream().filter(q -> q.price > 100).map(q -> q.price).toList()}"));
+        }
+    }
+}
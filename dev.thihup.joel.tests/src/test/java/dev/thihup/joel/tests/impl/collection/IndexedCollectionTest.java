@@ -0,0 +1,109 @@
+package dev.thihup.joel.tests.impl.collection;
+
+import dev.thihup.joel.impl.collection.IndexedCollection;
+import dev.thihup.joel.tests.impl.ExpressionFixture;
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.beans.FeatureDescriptor;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndexedCollectionTest {
+
+    private final ExpressionFixture fixture = new ExpressionFixture(new CountingResolver());
+    private final IndexedCollection<Product> products = new IndexedCollection<>(IntStream.range(0, 1000)
+            .mapToObj(i -> new Product("p" + i, "c" + i % 10, i))
+            .toList());
+    private int reads;
+
+    @BeforeEach
+    void setUp() {
+        fixture.define("products", products);
+    }
+
+    private Object eval(String expression) {
+        return fixture.eval(expression);
+    }
+
+    @Test
+    void equalityFiltersAreAnsweredFromTheIndex() {
+        fixture.define("category", "c3");
+        assertEquals(100L, eval("${products.stream().filter(p -> p.category == category).count()}"));
+        assertEquals(1000, reads);
+        assertEquals(List.of("p7", "p17", "p27"), eval("${products.stream().filter(p -> 'c7' == p.category).limit(3).map(p -> p.name).toList()}"));
+        assertEquals(1003, reads);
+        assertEquals(0L, eval("${products.stream().filter(p -> p.category == 'x').count()}"));
+        assertEquals(1003, reads);
+    }
+
+    @Test
+    void rangeFiltersUseTheSortedIndex() {
+        assertEquals(List.of("p998", "p999"), eval("${products.stream().filter(p -> p.price >= 998).map(p -> p.name).sorted().toList()}"));
+        assertEquals(List.of(0L, 1L, 2L), eval("${products.stream().filter(p -> 3 > p.price).map(p -> p.price).toList()}"));
+        assertEquals(List.of(11L, 21L), eval("${products.stream().filter(p -> p.price < 30.5 && p.category == 'c1' && p.price > 1).map(p -> p.price).toList()}"));
+        assertEquals(1000 + 2 + 3 + 1000 + 100 + 3 * 2 + 2, reads);
+    }
+
+    @Test
+    void indexesFollowTheCollectionVersion() {
+        assertEquals(1L, eval("${products.stream().filter(p -> p.name == 'new').count() + 1}"));
+        products.add(new Product("new", "c0", 5));
+        assertEquals(2L, eval("${products.stream().filter(p -> p.name == 'new').count() + 1}"));
+        assertEquals(2L, eval("${products.stream().filter(p -> p.price == 5).count()}"));
+    }
+
+    @Test
+    void otherPredicatesScanTheCollection() {
+        assertEquals(List.of("p999"), eval("${products.stream().filter(p -> p.price + 1 == 1000).map(p -> p.name).toList()}"));
+        assertEquals(List.of("p999"), eval("${products.stream().filter(p -> p.price == 999.0).map(p -> p.name).toList()}"));
+        assertEquals(1001 + 1000 + 1001, reads);
+    }
+
+    record Product(String name, String category, long price) {
+        private Map<String, Object> values() {
+            return Map.of("name", name, "category", category, "price", price);
+        }
+    }
+
+    private final class CountingResolver extends ELResolver {
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (!(base instanceof Product product))
+                return null;
+            context.setPropertyResolved(base, property);
+            reads++;
+            return product.values().get(property);
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            return null;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            return true;
+        }
+
+        @Override
+        public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+            return null;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return Object.class;
+        }
+    }
+}
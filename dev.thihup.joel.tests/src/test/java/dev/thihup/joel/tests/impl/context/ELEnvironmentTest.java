@@ -0,0 +1,133 @@
+package dev.thihup.joel.tests.impl.context;
+
+import dev.thihup.joel.impl.context.ELEnvironment;
+import dev.thihup.joel.impl.spi.JoelExpressionFactory;
+import jakarta.el.ELContext;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.ImportHandler;
+import jakarta.el.PropertyNotWritableException;
+import jakarta.el.ValueExpression;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ELEnvironmentTest {
+
+    private final ExpressionFactory factory = new JoelExpressionFactory();
+    private final ELEnvironment environment = ELEnvironment.builder(factory)
+            .bean("limits", Map.of("max", 10L))
+            .variable("base", factory.createValueExpression(100L, Long.class))
+            .function("m", "max", method("max"))
+            .importClass("java.util.Collections")
+            .locale(Locale.GERMANY)
+            .build();
+
+    private static java.lang.reflect.Method method(String name) {
+        try {
+            return Math.class.getMethod(name, long.class, long.class);
+        } catch (NoSuchMethodException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    @Test
+    void sharesOneEnvironmentBetweenThreads() throws Exception {
+        ELContext parseContext = environment.newContext();
+        ValueExpression expression = factory.createValueExpression(parseContext,
+                "${[1, 2, 3].stream().map(x -> x * n).sum() + base + limits.max + (Collections.EMPTY_LIST.isEmpty() ? 1 : 0)}", Long.class);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int task = 0; task < 64; task++) {
+                long n = task;
+                results.add(executor.submit(() -> {
+                    long last = 0;
+                    for (int i = 0; i < 200; i++) {
+                        ELContext context = environment.newContext();
+                        context.enterLambdaScope(Map.of("n", n));
+                        last = (Long) expression.getValue(context);
+                        context.exitLambdaScope();
+                        assertEquals(Locale.GERMANY, context.getLocale());
+                        assertSame(factory, context.getContext(ExpressionFactory.class));
+                    }
+                    return last;
+                }));
+            }
+            for (int task = 0; task < results.size(); task++) {
+                assertEquals(6L * task + 111, results.get(task).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void environmentIsFrozen() {
+        ELContext context = environment.newContext();
+        assertThrows(UnsupportedOperationException.class,
+                () -> context.getVariableMapper().setVariable("other", factory.createValueExpression(1L, Long.class)));
+        assertEquals(method("max"), context.getFunctionMapper().resolveFunction("m", "max"));
+        assertThrows(UnsupportedOperationException.class, () -> context.getFunctionMapper().mapFunction("m", "min", method("min")));
+        assertThrows(UnsupportedOperationException.class, () -> context.getImportHandler().importClass("java.util.List"));
+        assertThrows(UnsupportedOperationException.class, () -> context.getImportHandler().importPackage("java.util"));
+        assertThrows(UnsupportedOperationException.class, () -> context.getImportHandler().importStatic("java.lang.Math.max"));
+        assertSame(Collections.class, context.getImportHandler().resolveClass("Collections"));
+        assertNull(context.getImportHandler().resolveClass("LocalDate"));
+        assertThrows(PropertyNotWritableException.class,
+                () -> factory.createValueExpression(context, "${limits}", Object.class).setValue(context, Map.of()));
+    }
+
+    @Test
+    void contextsOnlyHoldEvaluationState() {
+        ELContext first = environment.newContext();
+        ELContext second = environment.newContext();
+        assertNotSame(first, second);
+        assertSame(first.getELResolver(), second.getELResolver());
+        assertSame(first.getImportHandler(), second.getImportHandler());
+        first.setLocale(Locale.FRANCE);
+        assertEquals(Locale.GERMANY, second.getLocale());
+        assertEquals(List.of(), first.getEvaluationListeners());
+        assertEquals(false, first.isLambdaArgument("x"));
+    }
+
+    @Test
+    void sharedImportsFollowTheContextClassLoader() {
+        ImportHandler imports = environment.newContext().getImportHandler();
+        ClassLoader hiding = new ClassLoader(ELEnvironmentTest.class.getClassLoader()) {
+            @Override
+            public Class<?> loadClass(String name) throws ClassNotFoundException {
+                if (name.equals("java.util.Collections"))
+                    throw new ClassNotFoundException(name);
+                return super.loadClass(name);
+            }
+        };
+
+        List<Class<?>> resolved = new ArrayList<>();
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        for (int i = 0; i < 2; i++) {
+            thread.setContextClassLoader(hiding);
+            try {
+                resolved.add(imports.resolveClass("Collections"));
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+            resolved.add(imports.resolveClass("Collections"));
+        }
+        assertEquals(Arrays.asList(null, Collections.class, null, Collections.class), resolved);
+    }
+}
@@ -0,0 +1,72 @@
+package dev.thihup.joel.tests.impl.json;
+
+import dev.thihup.joel.impl.json.Json;
+import dev.thihup.joel.impl.json.JsonELResolver;
+import dev.thihup.joel.tests.impl.ExpressionFixture;
+import jakarta.el.ELException;
+import jakarta.el.PropertyNotWritableException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonELResolverTest {
+
+    private final ExpressionFixture fixture = new ExpressionFixture(new JsonELResolver());
+
+    private Object eval(Object payload, String expression) {
+        return fixture.define("payload", payload).eval(expression);
+    }
+
+    @Test
+    void readsMembersWithoutDecodingTheRest() {
+        Object payload = Json.parse("{\"event\": \"order.created\", \"order\": {\"id\": 42, \"total\": 12.5}, \"tail\": [1, 2, nope]}");
+        assertEquals("order.created", eval(payload, "${payload.event}"));
+        assertEquals(42L, eval(payload, "${payload.order.id}"));
+        assertEquals(12.5, eval(payload, "${payload['order'].total}"));
+        assertEquals(2L, eval(payload, "${payload.tail[1]}"));
+        assertThrows(ELException.class, () -> eval(payload, "${payload.tail[2]}"));
+    }
+
+    @Test
+    void decodesBytesArraysAndEscapes() {
+        byte[] bytes = ("{\"items\": [{\"sku\": \"caf\u00e9\", \"qty\": 2}, {\"sku\": \"a\\\"b\\u0041\", \"qty\": 3, \"gift\": true}],"
+                + " \"note\": null, \"big\": 92233720368547758070, \"items\": []}").getBytes(StandardCharsets.UTF_8);
+        Object payload = Json.parse(bytes);
+        assertEquals("caf\u00e9", eval(payload, "${payload.items[0].sku}"));
+        assertEquals("a\"bA", eval(payload, "${payload.items[1].sku}"));
+        assertEquals(5L, eval(payload, "${payload.items.stream().map(i -> i.qty).sum()}"));
+        assertEquals(List.of(true), eval(payload, "${payload.items.stream().filter(i -> i.gift).map(i -> i.gift).toList()}"));
+        assertNull(eval(payload, "${payload.items[7]}"));
+        assertNull(eval(payload, "${payload.note}"));
+        assertEquals(true, eval(payload, "${empty payload.note}"));
+        assertEquals(new BigInteger("92233720368547758070"), eval(payload, "${payload.big}"));
+        assertEquals(2, eval(payload, "${payload.items.size()}"));
+    }
+
+    @Test
+    void behavesAsAReadOnlyMapAndList() {
+        Object payload = Json.parse(" {\"a\": 1, \"b\": [true, false], \"a\": 2} ");
+        assertEquals(Map.of("a", 1L, "b", List.of(true, false)), payload);
+        assertEquals(List.of(1L, "x"), Json.parse("[1, \"x\"]"));
+        assertEquals(1L, eval(payload, "${payload.a}"));
+        assertThrows(PropertyNotWritableException.class,
+                () -> fixture.expression("${payload.a}").setValue(fixture.context(), 3));
+    }
+
+    @Test
+    void rejectsTextAfterTheValue() {
+        assertEquals(1L, Json.parse(" 1 \n"));
+        assertThrows(ELException.class, () -> Json.parse("1 2"));
+        assertThrows(ELException.class, () -> Json.parse("{} garbage"));
+        assertThrows(ELException.class, () -> Json.parse("[1]]"));
+        assertThrows(ELException.class, () -> Json.parse("\"a\" \"b\"".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(ELException.class, () -> Json.parse(" "));
+    }
+}
@@ -0,0 +1,62 @@
+package dev.thihup.joel.tests.impl.node;
+
+import dev.thihup.joel.tests.impl.ExpressionFixture;
+import jakarta.el.BeanELResolver;
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.EvaluationListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamPipelineNodeTest {
+
+    private final ExpressionFixture fixture = new ExpressionFixture();
+
+    private Object eval(String expression) {
+        return fixture.define("data", List.of(1L, 2L)).eval(expression);
+    }
+
+    @Test
+    void consultsCustomResolvers() {
+        fixture.context().addELResolver(new BeanELResolver() {
+            @Override
+            public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
+                if (base instanceof List<?> && "stream".equals(method)) {
+                    context.setPropertyResolved(base, method);
+                    return Stream.of(10L, 20L);
+                }
+                return null;
+            }
+        });
+        assertEquals(List.of(11L, 21L), eval("${data.stream().map(x -> x + 1).toList()}"));
+    }
+
+    @Test
+    void notifiesListeners() {
+        var resolved = new ArrayList<>();
+        fixture.context().addEvaluationListener(new EvaluationListener() {
+            @Override
+            public void propertyResolved(ELContext context, Object base, Object property) {
+                resolved.add(property);
+            }
+        });
+        assertEquals(List.of(2L), eval("${data.stream().filter(x -> x > 1).toList()}"));
+        assertEquals(List.of("stream", "filter", "toList"), resolved);
+    }
+
+    @Test
+    void minAndMaxOfIncomparableElementsFailAsELException() {
+        fixture.define("mixed", List.of(1L, "a")).define("nulls", Arrays.asList("a", null));
+        assertThrows(ELException.class, () -> fixture.eval("${mixed.stream().min()}"));
+        assertThrows(ELException.class, () -> fixture.eval("${mixed.stream().max()}"));
+        assertThrows(ELException.class, () -> fixture.eval("${nulls.stream().min()}"));
+        assertThrows(ELException.class, () -> fixture.eval("${nulls.stream().max()}"));
+    }
+}
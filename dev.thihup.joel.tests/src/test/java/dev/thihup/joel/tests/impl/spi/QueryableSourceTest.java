@@ -0,0 +1,118 @@
+package dev.thihup.joel.tests.impl.spi;
+
+import dev.thihup.joel.impl.spi.QueryExpression;
+import dev.thihup.joel.impl.spi.QueryExpression.Comparison;
+import dev.thihup.joel.impl.spi.QueryExpression.Literal;
+import dev.thihup.joel.impl.spi.QueryExpression.Operator;
+import dev.thihup.joel.impl.spi.QueryExpression.Property;
+import dev.thihup.joel.impl.spi.QueryOperation;
+import dev.thihup.joel.impl.spi.QueryableSource;
+import dev.thihup.joel.tests.impl.ExpressionFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryableSourceTest {
+
+    private final ExpressionFixture fixture = new ExpressionFixture();
+    private final TradeStore trades = new TradeStore(List.of(
+            Map.of("symbol", "ABC", "quantity", 5L),
+            Map.of("symbol", "XYZ", "quantity", 30L),
+            Map.of("symbol", "ABC", "quantity", 20L),
+            Map.of("symbol", "ABC", "quantity", 15L)));
+
+    @BeforeEach
+    void setUp() {
+        fixture.define("trades", trades).define("symbol", "ABC");
+    }
+
+    private Object eval(String expression) {
+        return fixture.eval(expression);
+    }
+
+    @Test
+    void filtersArePushedToTheSource() {
+        assertEquals(List.of("ABC:20", "ABC:15"), eval("${trades.stream().filter(t -> t.symbol == symbol && t.quantity > 10).map(t -> t.symbol += ':' += t.quantity).toList()}"));
+        assertEquals(List.of(List.of(new QueryOperation.Filter(new QueryExpression.And(
+                new Comparison(Operator.EQUAL, new Property(List.of("symbol")), new Literal("ABC")),
+                new Comparison(Operator.GREATER_THAN, new Property(List.of("quantity")), new Literal(10L)))))), trades.queries);
+        assertEquals(0, trades.scans);
+    }
+
+    @Test
+    void rejectedOperationsRunInMemory() {
+        assertEquals(List.of(5L, 15L), eval("${trades.stream().filter(t -> t.symbol == 'ABC' || !(t.quantity <= 10)).sortedBy(t -> t.quantity).limit(2).map(t -> t.quantity).filter(q -> q != 30).toList()}"));
+        assertEquals(5, trades.queries.size());
+        assertEquals(1, trades.queries.get(4).size());
+        assertEquals(0, trades.scans);
+    }
+
+    @Test
+    void opaqueLambdasReadTheWholeSource() {
+        assertEquals(2L, eval("${trades.stream().filter(t -> t.symbol.toLowerCase() == 'abc').limit(2).count()}"));
+        assertEquals(List.of(), trades.queries);
+        assertEquals(1, trades.scans);
+    }
+
+    // Runs filters and limits itself; everything else is left to the caller.
+    private static final class TradeStore implements QueryableSource<Map<String, Object>> {
+        private final List<Map<String, Object>> rows;
+        private final List<List<QueryOperation>> queries = new ArrayList<>();
+        private int scans;
+
+        private TradeStore(List<Map<String, Object>> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Stream<?> query(List<QueryOperation> operations) {
+            queries.add(operations);
+            Stream<Map<String, Object>> result = rows.stream();
+            for (QueryOperation operation : operations) {
+                if (operation instanceof QueryOperation.Filter filter)
+                    result = result.filter(row -> (Boolean) evaluate(filter.predicate(), row));
+                else if (operation instanceof QueryOperation.Limit limit)
+                    result = result.limit(limit.maxSize());
+                else
+                    return null;
+            }
+            return result;
+        }
+
+        @Override
+        public Stream<Map<String, Object>> stream() {
+            scans++;
+            return rows.stream();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object evaluate(QueryExpression expression, Map<String, Object> row) {
+            if (expression instanceof Property property)
+                return row.get(property.path().get(0));
+            if (expression instanceof Literal literal)
+                return literal.value();
+            if (expression instanceof QueryExpression.And and)
+                return (Boolean) evaluate(and.left(), row) && (Boolean) evaluate(and.right(), row);
+            if (expression instanceof QueryExpression.Or or)
+                return (Boolean) evaluate(or.left(), row) || (Boolean) evaluate(or.right(), row);
+            if (expression instanceof QueryExpression.Not not)
+                return !(Boolean) evaluate(not.operand(), row);
+            var comparison = (Comparison) expression;
+            int result = ((Comparable) evaluate(comparison.left(), row)).compareTo(evaluate(comparison.right(), row));
+            return switch (comparison.operator()) {
+                case EQUAL -> result == 0;
+                case NOT_EQUAL -> result != 0;
+                case LESS_THAN -> result < 0;
+                case LESS_EQUAL -> result <= 0;
+                case GREATER_THAN -> result > 0;
+                case GREATER_EQUAL -> result >= 0;
+            };
+        }
+    }
+}
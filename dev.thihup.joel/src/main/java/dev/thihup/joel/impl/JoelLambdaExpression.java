@@ -0,0 +1,59 @@
+package dev.thihup.joel.impl;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.LambdaExpression;
+import jakarta.el.ValueExpression;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public final class JoelLambdaExpression extends LambdaExpression {
+
+    private final List<String> parameters;
+    private final ValueExpression body;
+    private final LambdaFrame capturedFrame;
+
+    public JoelLambdaExpression(List<String> parameters, ValueExpression body, LambdaFrame capturedFrame) {
+        super(parameters, body);
+        this.parameters = parameters;
+        this.body = body;
+        this.capturedFrame = capturedFrame;
+    }
+
+    public List<String> parameters() {
+        return parameters;
+    }
+
+    public ValueExpression body() {
+        return body;
+    }
+
+    public LambdaFrame capturedFrame() {
+        return capturedFrame;
+    }
+
+    @Override
+    public Object invoke(ELContext elContext, Object... arguments) {
+        Objects.requireNonNull(elContext);
+        int parameterCount = parameters.size();
+        if (arguments.length < parameterCount)
+            throw new ELException("Not enough arguments provided");
+
+        if (parameterCount == 0) {
+            var holder = LambdaFrame.holder(elContext);
+            LambdaFrame previous = holder.frame;
+            holder.frame = capturedFrame;
+            try {
+                return body.getValue(elContext);
+            } finally {
+                holder.frame = previous;
+            }
+        }
+
+        // Always copied: the caller keeps its varargs array, and closures created by the body keep the frame.
+        var values = Arrays.copyOf(arguments, parameterCount);
+        return LambdaFrame.evaluate(elContext, new LambdaFrame(parameters, values, capturedFrame), body);
+    }
+}
@@ -38,6 +38,10 @@ public final class JoelValueExpression extends ValueExpression {
         return new JoelValueExpression(expression, node, expectedType);
     }
 
+    public Node node() {
+        return node;
+    }
+
     @Override
     public boolean isLiteralText() {
         return node instanceof StringNode;
@@ -0,0 +1,110 @@
+package dev.thihup.joel.impl;
+
+import dev.thihup.joel.impl.node.Node;
+import jakarta.el.ELContext;
+import jakarta.el.ValueExpression;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+public final class LambdaFrame extends AbstractMap<String, Object> {
+
+    private final List<String> names;
+    private final Object[] values;
+    private final LambdaFrame parent;
+
+    public LambdaFrame(List<String> names, Object[] values, LambdaFrame parent) {
+        this.names = names;
+        this.values = values;
+        this.parent = parent;
+    }
+
+    public static LambdaFrame current(ELContext context) {
+        var holder = (Holder) context.getContext(Holder.class);
+        return holder == null ? null : holder.frame;
+    }
+
+    public static Object evaluate(ELContext context, LambdaFrame frame, ValueExpression body) {
+        return evaluate(context, frame, body::getValue);
+    }
+
+    public static Object evaluate(ELContext context, LambdaFrame frame, Node body) {
+        return evaluate(context, frame, body::getValue);
+    }
+
+    private static Object evaluate(ELContext context, LambdaFrame frame, Function<ELContext, Object> body) {
+        var holder = holder(context);
+        LambdaFrame previous = holder.frame;
+        holder.frame = frame;
+        context.enterLambdaScope(frame);
+        try {
+            return body.apply(context);
+        } finally {
+            context.exitLambdaScope();
+            holder.frame = previous;
+        }
+    }
+
+    static Holder holder(ELContext context) {
+        var holder = (Holder) context.getContext(Holder.class);
+        if (holder == null) {
+            holder = new Holder();
+            context.putContext(Holder.class, holder);
+        }
+        return holder;
+    }
+
+    static void install(ELContext context, LambdaFrame frame) {
+        var holder = new Holder();
+        holder.frame = frame;
+        context.putContext(Holder.class, holder);
+    }
+
+    public LambdaFrame enclosing(int depth) {
+        LambdaFrame frame = this;
+        for (int i = 0; i < depth && frame != null; i++) {
+            frame = frame.parent;
+        }
+        return frame;
+    }
+
+    public Object value(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        for (LambdaFrame frame = this; frame != null; frame = frame.parent) {
+            if (frame.names.contains(key))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object get(Object key) {
+        for (LambdaFrame frame = this; frame != null; frame = frame.parent) {
+            int slot = frame.names.lastIndexOf(key);
+            if (slot >= 0)
+                return frame.values[slot];
+        }
+        return null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> entries = parent == null ? new LinkedHashMap<>() : new LinkedHashMap<>(parent);
+        for (int i = 0; i < names.size(); i++) {
+            entries.put(names.get(i), values[i]);
+        }
+        return entries.entrySet();
+    }
+
+    static final class Holder {
+        LambdaFrame frame;
+    }
+}
@@ -0,0 +1,128 @@
+package dev.thihup.joel.impl;
+
+import jakarta.el.ELContext;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Optional;
+
+public final class NumberAccumulator {
+
+    private final ELContext context;
+    private long count;
+    private long longSum;
+    private BigInteger bigIntegerSum;
+    private boolean hasDouble;
+    private double doubleSum;
+    private double doubleCompensation;
+    private double simpleDoubleSum;
+    private BigDecimal bigDecimalSum;
+
+    public NumberAccumulator(ELContext context) {
+        this.context = context;
+    }
+
+    public void add(Object value) {
+        count++;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            addLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            addDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal bigDecimal) {
+            bigDecimalSum = bigDecimalSum == null ? bigDecimal : bigDecimalSum.add(bigDecimal);
+        } else if (value instanceof BigInteger bigInteger) {
+            addBigInteger(bigInteger);
+        } else {
+            addLong((Long) ParallelELContext.forCurrentThread(context).convertToType(value, Long.class));
+        }
+    }
+
+    public void add(long value) {
+        count++;
+        addLong(value);
+    }
+
+    public void add(double value) {
+        count++;
+        addDouble(value);
+    }
+
+    NumberAccumulator combine(NumberAccumulator other) {
+        count += other.count;
+        addLong(other.longSum);
+        if (other.bigIntegerSum != null)
+            addBigInteger(other.bigIntegerSum);
+        if (other.hasDouble) {
+            double simpleSum = simpleDoubleSum + other.simpleDoubleSum;
+            addDouble(other.doubleSum);
+            addDouble(other.doubleCompensation);
+            simpleDoubleSum = simpleSum;
+        }
+        if (other.bigDecimalSum != null)
+            bigDecimalSum = bigDecimalSum == null ? other.bigDecimalSum : bigDecimalSum.add(other.bigDecimalSum);
+        return this;
+    }
+
+    public Number sum() {
+        // BigDecimal has no NaN or infinity, so those stay doubles as they do in EL arithmetic.
+        if (hasDouble && !Double.isFinite(doubleSum()))
+            return doubleSum();
+        if (bigDecimalSum != null || (hasDouble && bigIntegerSum != null)) {
+            BigDecimal sum = bigDecimalSum == null ? BigDecimal.ZERO : bigDecimalSum;
+            if (bigIntegerSum != null)
+                sum = sum.add(new BigDecimal(bigIntegerSum));
+            if (hasDouble)
+                sum = sum.add(BigDecimal.valueOf(doubleSum()));
+            return sum.add(BigDecimal.valueOf(longSum));
+        }
+        if (hasDouble)
+            return doubleSum() + longSum;
+        if (bigIntegerSum != null)
+            return bigIntegerSum.add(BigInteger.valueOf(longSum));
+        return longSum;
+    }
+
+    public Optional<Number> average() {
+        if (count == 0)
+            return Optional.empty();
+        Number sum = sum();
+        if (sum instanceof BigDecimal bigDecimal)
+            return Optional.of(bigDecimal.divide(BigDecimal.valueOf(count), MathContext.DECIMAL128));
+        if (sum instanceof BigInteger bigInteger)
+            return Optional.of(new BigDecimal(bigInteger).divide(BigDecimal.valueOf(count), MathContext.DECIMAL128));
+        return Optional.of(sum.doubleValue() / count);
+    }
+
+    private void addLong(long value) {
+        try {
+            longSum = Math.addExact(longSum, value);
+        } catch (ArithmeticException overflow) {
+            addBigInteger(BigInteger.valueOf(longSum).add(BigInteger.valueOf(value)));
+            longSum = 0;
+        }
+    }
+
+    private void addBigInteger(BigInteger value) {
+        bigIntegerSum = bigIntegerSum == null ? value : bigIntegerSum.add(value);
+    }
+
+    // Neumaier's variant of Kahan summation, which also compensates when the added value is larger than the sum.
+    private void addDouble(double value) {
+        hasDouble = true;
+        simpleDoubleSum += value;
+        double sum = doubleSum + value;
+        if (Math.abs(doubleSum) >= Math.abs(value))
+            doubleCompensation += (doubleSum - sum) + value;
+        else
+            doubleCompensation += (value - sum) + doubleSum;
+        doubleSum = sum;
+    }
+
+    private double doubleSum() {
+        double sum = doubleSum + doubleCompensation;
+        if (Double.isNaN(sum) && Double.isInfinite(simpleDoubleSum))
+            return simpleDoubleSum;
+        return sum;
+    }
+}
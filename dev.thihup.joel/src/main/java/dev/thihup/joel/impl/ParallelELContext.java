@@ -0,0 +1,106 @@
+package dev.thihup.joel.impl;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ImportHandler;
+import jakarta.el.VariableMapper;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hands each thread that evaluates through it a context of its own. The thread that created it keeps the parent, so
+// wrapping a context costs nothing until another thread actually joins in.
+public final class ParallelELContext extends ELContext {
+
+    private final ELContext parent;
+    private final LambdaFrame frame;
+    private final Thread owner = Thread.currentThread();
+    private final Map<Thread, ELContext> forks = new ConcurrentHashMap<>();
+
+    private ParallelELContext(ELContext parent) {
+        this.parent = parent;
+        this.frame = LambdaFrame.current(parent);
+    }
+
+    public static ELContext of(ELContext context) {
+        return new ParallelELContext(forCurrentThread(context));
+    }
+
+    public static ELContext forCurrentThread(ELContext context) {
+        if (context instanceof ParallelELContext parallelContext) {
+            if (Thread.currentThread() == parallelContext.owner)
+                return parallelContext.parent;
+            return parallelContext.forks.computeIfAbsent(Thread.currentThread(), ignored -> new Fork(parallelContext.parent, parallelContext.frame));
+        }
+        return context;
+    }
+
+    @Override
+    public ELResolver getELResolver() {
+        return parent.getELResolver();
+    }
+
+    @Override
+    public FunctionMapper getFunctionMapper() {
+        return parent.getFunctionMapper();
+    }
+
+    @Override
+    public VariableMapper getVariableMapper() {
+        return parent.getVariableMapper();
+    }
+
+    private static final class Fork extends ELContext {
+        private final ELContext parent;
+
+        private Fork(ELContext parent, LambdaFrame frame) {
+            this.parent = parent;
+            LambdaFrame.install(this, frame);
+        }
+
+        @Override
+        public ELResolver getELResolver() {
+            return parent.getELResolver();
+        }
+
+        @Override
+        public FunctionMapper getFunctionMapper() {
+            return parent.getFunctionMapper();
+        }
+
+        @Override
+        public VariableMapper getVariableMapper() {
+            return parent.getVariableMapper();
+        }
+
+        @Override
+        public ImportHandler getImportHandler() {
+            return parent.getImportHandler();
+        }
+
+        @Override
+        public Locale getLocale() {
+            return parent.getLocale();
+        }
+
+        @Override
+        public Object getContext(Class<?> key) {
+            Object contextObject = super.getContext(key);
+            return contextObject != null ? contextObject : parent.getContext(key);
+        }
+
+        @Override
+        public boolean isLambdaArgument(String argument) {
+            return super.isLambdaArgument(argument) || parent.isLambdaArgument(argument);
+        }
+
+        @Override
+        public Object getLambdaArgument(String argument) {
+            if (super.isLambdaArgument(argument))
+                return super.getLambdaArgument(argument);
+            return parent.getLambdaArgument(argument);
+        }
+    }
+}
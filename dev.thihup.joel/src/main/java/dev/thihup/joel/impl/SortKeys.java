@@ -0,0 +1,133 @@
+package dev.thihup.joel.impl;
+
+import jakarta.el.ELContext;
+import jakarta.el.LambdaExpression;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+public final class SortKeys {
+    private final int size;
+    private final long[] longKeys;
+    private final double[] doubleKeys;
+    private final Object[] objectKeys;
+
+    private SortKeys(int size, long[] longKeys, double[] doubleKeys, Object[] objectKeys) {
+        this.size = size;
+        this.longKeys = longKeys;
+        this.doubleKeys = doubleKeys;
+        this.objectKeys = objectKeys;
+    }
+
+    static SortKeys of(ELContext context, Object[] elements, LambdaExpression keyExtractor) {
+        Object[] keys = new Object[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = keyExtractor.invoke(context, elements[i]);
+        }
+        return of(context, keys);
+    }
+
+    public static SortKeys of(ELContext context, Object[] keys) {
+        boolean integral = true;
+        boolean numeric = true;
+        boolean big = false;
+        for (Object key : keys) {
+            if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte)
+                continue;
+            integral = false;
+            if (key instanceof BigDecimal || key instanceof BigInteger)
+                big = true;
+            else if (!(key instanceof Number))
+                numeric = false;
+        }
+        if (integral) {
+            long[] longKeys = new long[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                longKeys[i] = ((Number) keys[i]).longValue();
+            }
+            return new SortKeys(keys.length, longKeys, null, null);
+        }
+        if (numeric && !big) {
+            double[] doubleKeys = new double[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                doubleKeys[i] = ((Number) keys[i]).doubleValue();
+            }
+            return new SortKeys(keys.length, null, doubleKeys, null);
+        }
+        if (numeric) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = context.convertToType(keys[i], BigDecimal.class);
+            }
+        }
+        return new SortKeys(keys.length, null, null, keys);
+    }
+
+    public int[] order() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, order.clone(), 0, size);
+        return order;
+    }
+
+    int min() {
+        int min = -1;
+        for (int i = 0; i < size; i++) {
+            if (min < 0 || compare(i, min) < 0)
+                min = i;
+        }
+        return min;
+    }
+
+    int max() {
+        int max = -1;
+        for (int i = 0; i < size; i++) {
+            if (max < 0 || compare(i, max) > 0)
+                max = i;
+        }
+        return max;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compare(int left, int right) {
+        if (longKeys != null)
+            return Long.compare(longKeys[left], longKeys[right]);
+        if (doubleKeys != null)
+            return Double.compare(doubleKeys[left], doubleKeys[right]);
+        Object leftKey = objectKeys[left];
+        Object rightKey = objectKeys[right];
+        if (leftKey == null || rightKey == null)
+            return leftKey == null ? (rightKey == null ? 0 : 1) : -1;
+        return ((Comparable) leftKey).compareTo(rightKey);
+    }
+
+    // Stable merge sort of the element indexes; source and target start as identical copies.
+    private void mergeSort(int[] target, int[] source, int from, int to) {
+        if (to - from < 8) {
+            for (int i = from + 1; i < to; i++) {
+                int index = target[i];
+                int j = i - 1;
+                while (j >= from && compare(target[j], index) > 0) {
+                    target[j + 1] = target[j];
+                    j--;
+                }
+                target[j + 1] = index;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(source, target, from, middle);
+        mergeSort(source, target, middle, to);
+        if (compare(source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, from, target, from, to - from);
+            return;
+        }
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || left < middle && compare(source[left], source[right]) <= 0)
+                target[i] = source[left++];
+            else
+                target[i] = source[right++];
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package dev.thihup.joel.impl;
 
+import dev.thihup.joel.impl.collection.IndexedCollection;
+import dev.thihup.joel.impl.collection.QueryStream;
+import dev.thihup.joel.impl.spi.QueryableSource;
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import jakarta.el.ELResolver;
@@ -7,19 +10,27 @@ import jakarta.el.LambdaExpression;
 import jakarta.el.MethodNotFoundException;
 
 import java.beans.FeatureDescriptor;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandleProxies;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public final class StreamELResolver extends ELResolver {
@@ -27,23 +38,50 @@ public final class StreamELResolver extends ELResolver {
     private static final MethodHandle LAMBDA_IMPL_WITHOUT_RETURN;
     private static final List<String> IGNORED_METHODS = List.of("equals", "hashCode", "toString");
     private static final Method[] STREAM_METHODS = Stream.class.getMethods();
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+    private static final MethodHandle OPTIONAL_OR_ELSE_GET;
+    private static final ClassValue<Method> FUNCTIONAL_METHODS = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            for (Method method : type.getMethods()) {
+                if (!method.isDefault() && !Modifier.isStatic(method.getModifiers()) && !IGNORED_METHODS.contains(method.getName()))
+                    return method;
+            }
+            return null;
+        }
+    };
+    private static final Map<String, StreamOperation[]> STREAM_OPERATIONS = streamOperations();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType ADAPTER_FACTORY_TYPE = MethodType.methodType(Object.class, Class.class, ELContext.class, LambdaExpression.class);
+    private static final MethodHandle[] ADAPTERS = new MethodHandle[4];
+    private static final ClassValue<Optional<MethodHandle>> ADAPTER_FACTORIES = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            return adapterFactory(type);
+        }
+    };
 
     static {
         try {
-            var lookup = MethodHandles.lookup();
-            LAMBDA_IMPL_WITH_RETURN = lookup.findStatic(StreamELResolver.class, "proxyWithReturnType", MethodType.methodType(Object.class, Class.class, ELContext.class, LambdaExpression.class, Object[].class));
-            LAMBDA_IMPL_WITHOUT_RETURN = lookup.findStatic(StreamELResolver.class, "proxyWithoutReturnType", MethodType.methodType(void.class, ELContext.class, LambdaExpression.class, Object[].class));
+            for (int arity = 0; arity < ADAPTERS.length; arity++) {
+                var adapterType = MethodType.genericMethodType(arity).insertParameterTypes(0, Class.class, ELContext.class, LambdaExpression.class);
+                ADAPTERS[arity] = LOOKUP.findStatic(StreamELResolver.class, "adapt", adapterType);
+            }
+            LAMBDA_IMPL_WITH_RETURN = LOOKUP.findStatic(StreamELResolver.class, "proxyWithReturnType", MethodType.methodType(Object.class, Class.class, ELContext.class, LambdaExpression.class, Object[].class));
+            LAMBDA_IMPL_WITHOUT_RETURN = LOOKUP.findStatic(StreamELResolver.class, "proxyWithoutReturnType", MethodType.methodType(void.class, ELContext.class, LambdaExpression.class, Object[].class));
+            OPTIONAL_OR_ELSE_GET = LOOKUP.findVirtual(Optional.class, "orElseGet", MethodType.methodType(Object.class, Supplier.class));
         } catch (Throwable throwable) {
             throw new IllegalStateException(throwable);
         }
     }
 
     private static Object proxyWithReturnType(Class<?> returnType, ELContext context, LambdaExpression x, Object... args) {
-        return context.convertToType(x.invoke(context, args), returnType);
+        var threadContext = ParallelELContext.forCurrentThread(context);
+        return threadContext.convertToType(x.invoke(threadContext, args), returnType);
     }
 
     private static void proxyWithoutReturnType(ELContext context, LambdaExpression x, Object... args) {
-        x.invoke(context, args);
+        x.invoke(ParallelELContext.forCurrentThread(context), args);
     }
 
     @Override
@@ -83,10 +121,22 @@ public final class StreamELResolver extends ELResolver {
         }
         if (method == null)
             return null;
+        if (base != null && base.getClass().isArray() && method.equals("stream") && (params == null || params.length == 0)) {
+            context.setPropertyResolved(base, method);
+            return arrayStream(base);
+        }
+        if (base instanceof QueryableSource<?> source && method.equals("stream") && (params == null || params.length == 0)) {
+            context.setPropertyResolved(base, method);
+            return QueryStream.of(context, source);
+        }
         if (!(base instanceof Stream<?> stream))
             return null;
         try {
             String methodName = (String) method;
+            if (stream instanceof QueryStream<?> query && query.push(methodName, params)) {
+                context.setPropertyResolved(base, method);
+                return query;
+            }
 
             switch (methodName) {
                 case "substream" -> {
@@ -101,6 +151,32 @@ public final class StreamELResolver extends ELResolver {
                     context.setPropertyResolved(base, method);
                     return executeSum(context, stream);
                 }
+                case "filter" -> {
+                    if (params != null && params.length == 1 && params[0] instanceof LambdaExpression predicate) {
+                        Stream<?> selected = IndexedCollection.filter(context, stream, predicate);
+                        if (selected != null) {
+                            context.setPropertyResolved(base, method);
+                            return selected;
+                        }
+                    }
+                }
+                case "sortedBy", "minBy", "maxBy" -> {
+                    if (params != null && params.length == 1 && params[0] instanceof LambdaExpression keyExtractor) {
+                        context.setPropertyResolved(base, method);
+                        return executeByKey(context, stream, methodName, keyExtractor);
+                    }
+                }
+                case "groupBy", "partitionBy", "countBy", "toMap" -> {
+                    if (params != null && params.length > 0 && params.length <= 2
+                            && params[0] instanceof LambdaExpression first
+                            && (params.length == 1 || params[1] instanceof LambdaExpression)) {
+                        LambdaExpression second = params.length == 2 ? (LambdaExpression) params[1] : null;
+                        if (second == null ? !methodName.equals("toMap") : !methodName.equals("countBy")) {
+                            context.setPropertyResolved(base, method);
+                            return executeGrouping(context, stream, methodName, first, second);
+                        }
+                    }
+                }
                 case "sorted", "min", "max" -> {
                     if (params == null || params.length == 0) {
                         params = new Object[]{Comparator.naturalOrder()};
@@ -110,27 +186,10 @@ public final class StreamELResolver extends ELResolver {
                 }
             }
 
-            Object[] currentParams = params;
-            var method1 = findMethod(parameterTypes, methodName, currentParams);
-
-            // toList() / toArray()
-            if (method1.getParameterCount() == 0) {
-                context.setPropertyResolved(base, method);
-                return method1.invoke(base);
-            }
-
-            // sorted() / min() / max()
-            if (params != null && params.length != 0 && Arrays.stream(params).noneMatch(LambdaExpression.class::isInstance)) {
-                context.setPropertyResolved(base, method);
-                return method1.invoke(base, params);
-            }
-
-            // parameters of stream method
-            Class<?>[] parameterTypes1 = method1.getParameterTypes();
-
-            Object[] objects = getArguments(context, currentParams, parameterTypes1);
+            var operation = findOperation(parameterTypes, methodName, params);
+            Object[] arguments = operation.arguments(this, context, params);
             context.setPropertyResolved(base, method);
-            return method1.invoke(base, objects);
+            return (Object) operation.invoker().invokeExact((Object) stream, arguments);
         } catch (NoSuchMethodException noSuchMethodException) {
             throw new MethodNotFoundException(noSuchMethodException);
         } catch (Throwable throwable) {
@@ -139,78 +198,200 @@ public final class StreamELResolver extends ELResolver {
     }
 
     private Object executeOptionalOrElseGet(ELContext context, Object base, Object method, LambdaExpression lambda) {
+        Object supplier = createLambdaFromLambdaExpression(context, lambda, Supplier.class, FUNCTIONAL_METHODS.get(Supplier.class));
+        context.setPropertyResolved(base, method);
         try {
-            var orElseGet = Optional.class.getMethod("orElseGet", Supplier.class);
-            Supplier<?> lambdaFromLambdaExpression = (Supplier<?>) createLambdaFromLambdaExpression(context, lambda, Supplier.class, Supplier.class.getMethod("get"));
-            context.setPropertyResolved(base, method);
-            return orElseGet.invoke(base, lambdaFromLambdaExpression);
-        } catch (NoSuchMethodException noSuchMethodException) {
-            throw new MethodNotFoundException(noSuchMethodException);
-        } catch (Exception exception) {
-            throw new ELException(exception);
+            return (Object) OPTIONAL_OR_ELSE_GET.invokeExact((Optional<?>) base, (Supplier<?>) supplier);
+        } catch (Throwable throwable) {
+            throw new ELException(throwable);
         }
     }
 
-    private Object[] getArguments(ELContext context, Object[] currentParams, Class<?>[] parameterTypes1) {
-        Object[] array = new Object[parameterTypes1.length];
-        for (int x = 0; x < parameterTypes1.length; x++) {
-            try {
-                array[x] = parameterTypes1[x].isInterface() ?
-                        createLambdaFromLambdaExpression(context, (LambdaExpression) currentParams[x], parameterTypes1[x], findMethodFromClass(parameterTypes1[x]))
-                        : currentParams[x];
-            } catch (NoSuchMethodException noSuchMethodException) {
-                throw new ELException(noSuchMethodException);
-            }
+    private static StreamOperation findOperation(Class<?>[] parameterTypes, String methodName, Object[] params) throws NoSuchMethodException {
+        if (parameterTypes == null && params != null) {
+            StreamOperation[] operations = STREAM_OPERATIONS.get(methodName);
+            if (operations != null && params.length < operations.length && operations[params.length] != null)
+                return operations[params.length];
+        }
+        for (Method method : STREAM_METHODS) {
+            if (!Modifier.isStatic(method.getModifiers())
+                    && method.getName().equals(methodName)
+                    && (parameterTypes == null || Arrays.equals(parameterTypes, method.getParameterTypes()))
+                    && (params == null || params.length == method.getParameterCount()))
+                return StreamOperation.of(method);
         }
-        return array;
+        throw new NoSuchMethodException(methodName);
     }
 
-    private Method findMethod(Class<?>[] parameterTypes, String methodName, Object[] currentParams) throws NoSuchMethodException {
-        return Arrays.stream(STREAM_METHODS)
-                .filter(x -> !Modifier.isStatic(x.getModifiers()))
-                .filter(x -> x.getName().equals(methodName))
-                .filter(x -> parameterTypes == null || Arrays.equals(parameterTypes, x.getParameterTypes()))
-                .filter(x -> currentParams == null || currentParams.length == x.getParameterCount())
-                .findFirst()
-                .orElseThrow(NoSuchMethodException::new);
+    private static Map<String, StreamOperation[]> streamOperations() {
+        Map<String, StreamOperation[]> operations = new HashMap<>();
+        for (Method method : STREAM_METHODS) {
+            if (Modifier.isStatic(method.getModifiers()))
+                continue;
+            int arity = method.getParameterCount();
+            StreamOperation[] byArity = operations.getOrDefault(method.getName(), new StreamOperation[0]);
+            if (byArity.length <= arity)
+                byArity = Arrays.copyOf(byArity, arity + 1);
+            if (byArity[arity] == null)
+                byArity[arity] = StreamOperation.of(method);
+            operations.put(method.getName(), byArity);
+        }
+        return Map.copyOf(operations);
     }
 
     private Object createLambdaFromLambdaExpression(ELContext context, LambdaExpression lambdaExpression, Class<?> aClass, Method method) {
+        var adapterFactory = ADAPTER_FACTORIES.get(aClass);
+        if (adapterFactory.isPresent()) {
+            try {
+                return (Object) adapterFactory.get().invokeExact((Class<?>) method.getReturnType(), context, lambdaExpression);
+            } catch (Throwable throwable) {
+                throw new ELException(throwable);
+            }
+        }
         if (method.getReturnType() == void.class)
             return MethodHandleProxies.asInterfaceInstance(aClass, LAMBDA_IMPL_WITHOUT_RETURN.bindTo(context).bindTo(lambdaExpression).asVarargsCollector(Object[].class));
         return MethodHandleProxies.asInterfaceInstance(aClass, LAMBDA_IMPL_WITH_RETURN.bindTo(method.getReturnType()).bindTo(context).bindTo(lambdaExpression).asVarargsCollector(Object[].class));
     }
 
-    private Method findMethodFromClass(Class<?> klass) throws NoSuchMethodException {
-        return Arrays.stream(klass.getMethods())
-                .filter(x -> !x.isDefault())
-                .filter(x -> !Modifier.isStatic(x.getModifiers()))
-                .filter(x -> IGNORED_METHODS.stream().noneMatch(x.getName()::equals))
-                .findFirst()
-                .orElseThrow(NoSuchMethodException::new);
+    private static Optional<MethodHandle> adapterFactory(Class<?> functionalInterface) {
+        Method method = FUNCTIONAL_METHODS.get(functionalInterface);
+        if (method == null || method.getParameterCount() >= ADAPTERS.length || !isFunctionalInterface(functionalInterface))
+            return Optional.empty();
+        try {
+            var methodType = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+            var callSite = LambdaMetafactory.metafactory(LOOKUP, method.getName(),
+                    MethodType.methodType(functionalInterface, Class.class, ELContext.class, LambdaExpression.class),
+                    methodType, ADAPTERS[method.getParameterCount()], methodType);
+            return Optional.of(callSite.getTarget().asType(ADAPTER_FACTORY_TYPE));
+        } catch (LambdaConversionException | IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isFunctionalInterface(Class<?> type) {
+        if (!type.isInterface())
+            return false;
+        int abstractMethods = 0;
+        for (Method method : type.getMethods()) {
+            if (Modifier.isAbstract(method.getModifiers()) && !IGNORED_METHODS.contains(method.getName()))
+                abstractMethods++;
+        }
+        return abstractMethods == 1;
+    }
+
+    private static Object adapt(Class<?> returnType, ELContext context, LambdaExpression lambdaExpression) {
+        var threadContext = ParallelELContext.forCurrentThread(context);
+        return result(returnType, threadContext, lambdaExpression.invoke(threadContext, NO_ARGUMENTS));
+    }
+
+    private static Object adapt(Class<?> returnType, ELContext context, LambdaExpression lambdaExpression, Object first) {
+        var threadContext = ParallelELContext.forCurrentThread(context);
+        return result(returnType, threadContext, lambdaExpression.invoke(threadContext, first));
+    }
+
+    private static Object adapt(Class<?> returnType, ELContext context, LambdaExpression lambdaExpression, Object first, Object second) {
+        var threadContext = ParallelELContext.forCurrentThread(context);
+        return result(returnType, threadContext, lambdaExpression.invoke(threadContext, first, second));
+    }
+
+    private static Object adapt(Class<?> returnType, ELContext context, LambdaExpression lambdaExpression, Object first, Object second, Object third) {
+        var threadContext = ParallelELContext.forCurrentThread(context);
+        return result(returnType, threadContext, lambdaExpression.invoke(threadContext, first, second, third));
+    }
+
+    private static Object result(Class<?> returnType, ELContext context, Object value) {
+        if (returnType == void.class)
+            return null;
+        return context.convertToType(value, returnType);
     }
 
     private Object executeSum(ELContext context, Stream<?> base) {
-        return base.mapToLong(x -> (Long) context.convertToType(x, Long.class)).sum();
+        return accumulate(context, base).sum();
     }
 
     private Object executeAverage(ELContext context, Stream<?> base) {
         // We need to return Optional instead of OptionalDouble because
         // the spec requires the method "get", but the OptionalDouble has
         // "getAsDouble"
-        long[] avg = base.mapToLong(x -> (Long) context.convertToType(x, Long.class))
-                .collect(() -> new long[2],
-                        (ll, i) -> {
-                            ll[0]++;
-                            ll[1] += i;
-                        },
-                        (ll, rr) -> {
-                            ll[0] += rr[0];
-                            ll[1] += rr[1];
-                        });
-        return avg[0] > 0
-                ? Optional.of((double) avg[1] / avg[0])
-                : Optional.empty();
+        return accumulate(context, base).average();
+    }
+
+    private NumberAccumulator accumulate(ELContext context, Stream<?> base) {
+        var elementContext = ParallelELContext.of(context);
+        return base.collect(() -> new NumberAccumulator(elementContext), NumberAccumulator::add, NumberAccumulator::combine);
+    }
+
+    private Object executeByKey(ELContext context, Stream<?> base, String methodName, LambdaExpression keyExtractor) {
+        boolean parallel = base.isParallel();
+        Object[] elements = base.toArray();
+        SortKeys keys = SortKeys.of(context, elements, keyExtractor);
+        switch (methodName) {
+            case "minBy" -> {
+                int min = keys.min();
+                return min < 0 ? Optional.empty() : Optional.ofNullable(elements[min]);
+            }
+            case "maxBy" -> {
+                int max = keys.max();
+                return max < 0 ? Optional.empty() : Optional.ofNullable(elements[max]);
+            }
+            default -> {
+                int[] order = keys.order();
+                Object[] sorted = new Object[elements.length];
+                for (int i = 0; i < order.length; i++) {
+                    sorted[i] = elements[order[i]];
+                }
+                Stream<Object> stream = Arrays.stream(sorted);
+                return parallel ? stream.parallel() : stream;
+            }
+        }
+    }
+
+    private Object executeGrouping(ELContext context, Stream<?> base, String methodName, LambdaExpression classifier, LambdaExpression valueMapper) {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        if (methodName.equals("partitionBy")) {
+            result.put(false, new ArrayList<>());
+            result.put(true, new ArrayList<>());
+        }
+        for (Iterator<?> iterator = base.iterator(); iterator.hasNext(); ) {
+            Object element = iterator.next();
+            Object key = classifier.invoke(context, element);
+            key = methodName.equals("partitionBy") ? context.convertToType(key, Boolean.class) : groupKey(key);
+            Object value = valueMapper == null ? element : valueMapper.invoke(context, element);
+            switch (methodName) {
+                case "countBy" -> result.merge(key, 1L, (a, b) -> (Long) a + 1);
+                case "toMap" -> {
+                    if (result.containsKey(key))
+                        throw new ELException("Duplicate key: %s".formatted(key));
+                    result.put(key, value);
+                }
+                default -> addToGroup(result, key, value);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addToGroup(Map<Object, Object> groups, Object key, Object value) {
+        ((List<Object>) groups.computeIfAbsent(key, k -> new ArrayList<>())).add(value);
+    }
+
+    // EL compares integral numbers by value, so 1 and 1L must end up in the same group.
+    private static Object groupKey(Object key) {
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte)
+            return ((Number) key).longValue();
+        return key;
+    }
+
+    private static Stream<?> arrayStream(Object array) {
+        if (array instanceof int[] ints)
+            return Arrays.stream(ints).boxed();
+        if (array instanceof long[] longs)
+            return Arrays.stream(longs).boxed();
+        if (array instanceof double[] doubles)
+            return Arrays.stream(doubles).boxed();
+        if (array instanceof Object[] objects)
+            return Arrays.stream(objects);
+        return IntStream.range(0, Array.getLength(array)).mapToObj(index -> Array.get(array, index));
     }
 
     private Object executeSubstream(Stream<?> base, Object[] params) {
@@ -220,4 +401,42 @@ public final class StreamELResolver extends ELResolver {
         }
         return skippedStream;
     }
+
+    private record StreamOperation(MethodHandle invoker, Class<?>[] parameterTypes, Method[] functionalMethods) {
+        private static StreamOperation of(Method method) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            Method[] functionalMethods = new Method[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (parameterTypes[i].isInterface())
+                    functionalMethods[i] = FUNCTIONAL_METHODS.get(parameterTypes[i]);
+            }
+            try {
+                MethodHandle invoker = MethodHandles.publicLookup().unreflect(method)
+                        .asType(MethodType.genericMethodType(parameterTypes.length + 1))
+                        .asSpreader(Object[].class, parameterTypes.length);
+                return new StreamOperation(invoker, parameterTypes, functionalMethods);
+            } catch (IllegalAccessException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        private Object[] arguments(StreamELResolver resolver, ELContext context, Object[] params) {
+            if (parameterTypes.length == 0)
+                return NO_ARGUMENTS;
+            Object[] arguments = new Object[parameterTypes.length];
+            ELContext lambdaContext = null;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Object param = params[i];
+                if (param instanceof LambdaExpression lambdaExpression && functionalMethods[i] != null) {
+                    // The stream may still be made parallel after this operation, so lambdas always get a forking context.
+                    if (lambdaContext == null)
+                        lambdaContext = ParallelELContext.of(context);
+                    arguments[i] = resolver.createLambdaFromLambdaExpression(lambdaContext, lambdaExpression, parameterTypes[i], functionalMethods[i]);
+                } else {
+                    arguments[i] = param;
+                }
+            }
+            return arguments;
+        }
+    }
 }
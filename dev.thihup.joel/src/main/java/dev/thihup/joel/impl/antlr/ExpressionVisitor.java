@@ -38,18 +38,23 @@ import dev.thihup.joel.impl.node.NumberNode;
 import dev.thihup.joel.impl.node.OrNode;
 import dev.thihup.joel.impl.node.SemicolonNode;
 import dev.thihup.joel.impl.node.SetNode;
+import dev.thihup.joel.impl.node.StreamPipelineNode;
 import dev.thihup.joel.impl.node.StringNode;
 import dev.thihup.joel.impl.node.SubExpressionNode;
 import dev.thihup.joel.impl.node.UnaryEmptyNode;
 import dev.thihup.joel.impl.node.UnaryMinusNode;
 import jakarta.el.ELException;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 
 public final class ExpressionVisitor extends ExpressionLanguageParserBaseVisitor<Node> {
 
+    private final Deque<List<String>> lambdaScopes = new ArrayDeque<>();
+
     public ExpressionVisitor() {
     }
 
@@ -106,7 +111,15 @@ public final class ExpressionVisitor extends ExpressionLanguageParserBaseVisitor
 
     @Override
     public Node visitLambdaExpression(ExpressionLanguageParser.LambdaExpressionContext ctx) {
-        return new LambdaNode(ctx.lambdaParameters().IDENTIFIER().stream().map(Objects::toString).toList(), visit(ctx.expression()));
+        var parameters = ctx.lambdaParameters().IDENTIFIER().stream().map(Objects::toString).toList();
+        if (parameters.isEmpty())
+            return new LambdaNode(parameters, visit(ctx.expression()));
+        lambdaScopes.push(parameters);
+        try {
+            return new LambdaNode(parameters, visit(ctx.expression()));
+        } finally {
+            lambdaScopes.pop();
+        }
     }
 
     @Override
@@ -197,7 +210,15 @@ public final class ExpressionVisitor extends ExpressionLanguageParserBaseVisitor
 
     @Override
     public Node visitIdentifierExpression(ExpressionLanguageParser.IdentifierExpressionContext ctx) {
-        return new IdentifierNode(ctx.getText());
+        String name = ctx.getText();
+        int depth = 0;
+        for (List<String> parameters : lambdaScopes) {
+            int slot = parameters.lastIndexOf(name);
+            if (slot >= 0)
+                return new IdentifierNode(name, depth, slot);
+            depth++;
+        }
+        return new IdentifierNode(name);
     }
 
     @Override
@@ -221,7 +242,7 @@ public final class ExpressionVisitor extends ExpressionLanguageParserBaseVisitor
             return visit(ctx.qualifiedFunction());
         }
         var expressionList = ctx.arguments().expressionList();
-        return new CallExpressionNode(visit(ctx.getChild(0)), getArguments(expressionList));
+        return StreamPipelineNode.fuse(new CallExpressionNode(visit(ctx.getChild(0)), getArguments(expressionList)));
     }
 
     @Override
@@ -0,0 +1,144 @@
+package dev.thihup.joel.impl.batch;
+
+import dev.thihup.joel.impl.JoelValueExpression;
+import dev.thihup.joel.impl.LambdaFrame;
+import dev.thihup.joel.impl.ParallelELContext;
+import dev.thihup.joel.impl.node.LambdaNode;
+import dev.thihup.joel.impl.node.Node;
+import jakarta.el.ELContext;
+import jakarta.el.ValueExpression;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public final class BulkEvaluator {
+    private static final int MINIMUM_SPLIT = 256;
+
+    private final String expression;
+    private final Node node;
+    private final Class<?> expectedType;
+    private final List<String> variable;
+    private final boolean reusableFrame;
+    private final int parallelThreshold;
+
+    private BulkEvaluator(String expression, Node node, Class<?> expectedType, List<String> variable, int parallelThreshold) {
+        this.expression = expression;
+        this.node = node;
+        this.expectedType = expectedType;
+        this.variable = variable;
+        // Lambdas created by the expression capture the frame, so it can only be shared between roots when there are none.
+        this.reusableFrame = !LambdaNode.occursIn(node);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public static BulkEvaluator of(ValueExpression expression, String variable) {
+        if (!(expression instanceof JoelValueExpression joelExpression))
+            throw new IllegalArgumentException("Expression %s was not created by this implementation".formatted(expression));
+        Objects.requireNonNull(variable);
+        return new BulkEvaluator(joelExpression.getExpressionString(), joelExpression.node(), joelExpression.getExpectedType(),
+                List.of(variable), Integer.MAX_VALUE);
+    }
+
+    public BulkEvaluator parallel(int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("Threshold must be positive: %d".formatted(threshold));
+        return new BulkEvaluator(expression, node, expectedType, variable, threshold);
+    }
+
+    public Object[] evaluate(ELContext context, Object[] roots) {
+        Object[] results = new Object[roots.length];
+        evaluate(context, roots, results);
+        return results;
+    }
+
+    public void evaluate(ELContext context, Object[] roots, Object[] results) {
+        Objects.requireNonNull(context);
+        if (results.length < roots.length)
+            throw new IllegalArgumentException("Results array holds %d values, expected %d".formatted(results.length, roots.length));
+        context.notifyBeforeEvaluation(expression);
+        try {
+            if (roots.length >= parallelThreshold)
+                ForkJoinPool.commonPool().invoke(new Range(ParallelELContext.of(context), roots, results, 0, roots.length,
+                        Math.max(MINIMUM_SPLIT, roots.length / (ForkJoinPool.getCommonPoolParallelism() * 4))));
+            else
+                evaluate(context, roots, results, 0, roots.length);
+        } finally {
+            context.notifyAfterEvaluation(expression);
+        }
+    }
+
+    public void evaluate(ELContext context, Iterable<?> roots, Collection<Object> results) {
+        Objects.requireNonNull(context);
+        if (roots instanceof Collection<?> collection && collection.size() >= parallelThreshold) {
+            Object[] array = collection.toArray();
+            evaluate(context, array, array);
+            results.addAll(Arrays.asList(array));
+            return;
+        }
+        context.notifyBeforeEvaluation(expression);
+        try {
+            LambdaFrame parent = LambdaFrame.current(context);
+            Object[] slot = new Object[1];
+            LambdaFrame frame = new LambdaFrame(variable, slot, parent);
+            for (Object root : roots) {
+                if (!reusableFrame)
+                    frame = new LambdaFrame(variable, slot = new Object[1], parent);
+                slot[0] = root;
+                results.add(context.convertToType(LambdaFrame.evaluate(context, frame, node), expectedType));
+            }
+        } finally {
+            context.notifyAfterEvaluation(expression);
+        }
+    }
+
+    private void evaluate(ELContext context, Object[] roots, Object[] results, int from, int to) {
+        LambdaFrame parent = LambdaFrame.current(context);
+        Object[] slot = new Object[1];
+        LambdaFrame frame = new LambdaFrame(variable, slot, parent);
+        for (int i = from; i < to; i++) {
+            if (!reusableFrame)
+                frame = new LambdaFrame(variable, slot = new Object[1], parent);
+            slot[0] = roots[i];
+            results[i] = context.convertToType(LambdaFrame.evaluate(context, frame, node), expectedType);
+        }
+    }
+
+    private final class Range extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 0L;
+
+        @SuppressWarnings("serial")
+        private final ELContext context;
+        @SuppressWarnings("serial")
+        private final Object[] roots;
+        @SuppressWarnings("serial")
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        private final int split;
+
+        private Range(ELContext context, Object[] roots, Object[] results, int from, int to, int split) {
+            this.context = context;
+            this.roots = roots;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.split = split;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= split) {
+                evaluate(ParallelELContext.forCurrentThread(context), roots, results, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Range(context, roots, results, from, middle, split), new Range(context, roots, results, middle, to, split));
+        }
+    }
+}
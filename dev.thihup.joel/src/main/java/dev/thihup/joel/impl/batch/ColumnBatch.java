@@ -0,0 +1,71 @@
+package dev.thihup.joel.impl.batch;
+
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public final class ColumnBatch {
+    private final int size;
+    private final Map<String, Object> columns = new LinkedHashMap<>();
+
+    public ColumnBatch(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("Negative batch size: %d".formatted(size));
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ColumnBatch column(String name, long[] values) {
+        return add(name, values, values.length);
+    }
+
+    public ColumnBatch column(String name, int[] values) {
+        return add(name, values, values.length);
+    }
+
+    public ColumnBatch column(String name, double[] values) {
+        return add(name, values, values.length);
+    }
+
+    public ColumnBatch column(String name, boolean[] values) {
+        return add(name, values, values.length);
+    }
+
+    public ColumnBatch column(String name, Object[] values) {
+        return add(name, values, values.length);
+    }
+
+    public ColumnBatch column(String name, List<?> values) {
+        return add(name, values, values.size());
+    }
+
+    public Set<String> names() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    Object column(String name) {
+        return columns.get(name);
+    }
+
+    Object cell(String name, int row) {
+        Object column = columns.get(name);
+        if (column instanceof List<?> list)
+            return list.get(row);
+        return Array.get(column, row);
+    }
+
+    private ColumnBatch add(String name, Object values, int length) {
+        Objects.requireNonNull(name);
+        if (length != size)
+            throw new IllegalArgumentException("Column %s has %d rows, expected %d".formatted(name, length, size));
+        columns.put(name, values);
+        return this;
+    }
+}
@@ -0,0 +1,98 @@
+package dev.thihup.joel.impl.batch;
+
+import java.util.AbstractList;
+import java.util.List;
+
+// Owns the array it was created with: the factories take arrays that nothing else refers to, and the accessors return
+// that array as is, so the caller of the evaluator may keep or modify it.
+public final class ColumnResult {
+    private final Class<?> type;
+    private final Object values;
+    private final int size;
+
+    ColumnResult(Class<?> type, Object values, int size) {
+        this.type = type;
+        this.values = values;
+        this.size = size;
+    }
+
+    static ColumnResult ofLongs(long[] values) {
+        return new ColumnResult(long.class, values, values.length);
+    }
+
+    static ColumnResult ofDoubles(double[] values) {
+        return new ColumnResult(double.class, values, values.length);
+    }
+
+    static ColumnResult ofBooleans(boolean[] values) {
+        return new ColumnResult(boolean.class, values, values.length);
+    }
+
+    static ColumnResult ofObjects(Object[] values) {
+        return new ColumnResult(Object.class, values, values.length);
+    }
+
+    ColumnResult copy() {
+        if (values instanceof long[] longs)
+            return new ColumnResult(type, longs.clone(), size);
+        if (values instanceof double[] doubles)
+            return new ColumnResult(type, doubles.clone(), size);
+        if (values instanceof boolean[] booleans)
+            return new ColumnResult(type, booleans.clone(), size);
+        return new ColumnResult(type, ((Object[]) values).clone(), size);
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] longs() {
+        return (long[]) values(long.class);
+    }
+
+    public double[] doubles() {
+        return (double[]) values(double.class);
+    }
+
+    public boolean[] booleans() {
+        return (boolean[]) values(boolean.class);
+    }
+
+    public Object[] objects() {
+        return (Object[]) values(Object.class);
+    }
+
+    public Object get(int row) {
+        if (values instanceof long[] longs)
+            return longs[row];
+        if (values instanceof double[] doubles)
+            return doubles[row];
+        if (values instanceof boolean[] booleans)
+            return booleans[row];
+        return ((Object[]) values)[row];
+    }
+
+    public List<Object> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Object get(int index) {
+                return ColumnResult.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private Object values(Class<?> expected) {
+        if (type != expected)
+            throw new IllegalStateException("Column of type %s is not a %s column".formatted(type, expected));
+        return values;
+    }
+}
@@ -0,0 +1,459 @@
+package dev.thihup.joel.impl.batch;
+
+import dev.thihup.joel.impl.JoelValueExpression;
+import dev.thihup.joel.impl.LambdaFrame;
+import dev.thihup.joel.impl.calculator.Operation;
+import dev.thihup.joel.impl.node.AddExpressionNode;
+import dev.thihup.joel.impl.node.AndNode;
+import dev.thihup.joel.impl.node.BooleanNode;
+import dev.thihup.joel.impl.node.ComparisonOperator;
+import dev.thihup.joel.impl.node.DeferredExpressionNode;
+import dev.thihup.joel.impl.node.DivExpressionNode;
+import dev.thihup.joel.impl.node.DynamicExpressionNode;
+import dev.thihup.joel.impl.node.EqualNode;
+import dev.thihup.joel.impl.node.IdentifierNode;
+import dev.thihup.joel.impl.node.InfixExpressionNode;
+import dev.thihup.joel.impl.node.ModExpressionNode;
+import dev.thihup.joel.impl.node.MulExpressionNode;
+import dev.thihup.joel.impl.node.LambdaNode;
+import dev.thihup.joel.impl.node.Node;
+import dev.thihup.joel.impl.node.NotEqualNode;
+import dev.thihup.joel.impl.node.NumberNode;
+import dev.thihup.joel.impl.node.OrNode;
+import dev.thihup.joel.impl.node.RelationalNode;
+import dev.thihup.joel.impl.node.SubExpressionNode;
+import dev.thihup.joel.impl.node.TernaryNode;
+import dev.thihup.joel.impl.node.UnaryMinusNode;
+import dev.thihup.joel.impl.node.UnaryNotNode;
+import jakarta.el.ELContext;
+import jakarta.el.ValueExpression;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class ColumnarEvaluator {
+    private final Node node;
+    private final Class<?> expectedType;
+
+    private ColumnarEvaluator(Node node, Class<?> expectedType) {
+        this.node = node;
+        this.expectedType = expectedType;
+    }
+
+    public static ColumnarEvaluator of(ValueExpression expression) {
+        if (!(expression instanceof JoelValueExpression joelExpression))
+            throw new IllegalArgumentException("Expression %s was not created by this implementation".formatted(expression));
+        Node node = joelExpression.node();
+        while (node instanceof DynamicExpressionNode || node instanceof DeferredExpressionNode) {
+            node = node instanceof DynamicExpressionNode dynamic ? dynamic.node() : ((DeferredExpressionNode) node).node();
+        }
+        return new ColumnarEvaluator(node, joelExpression.getExpectedType());
+    }
+
+    public ColumnResult evaluate(ELContext context, ColumnBatch batch) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(batch);
+        var evaluation = new Evaluation(context, batch);
+        ColumnResult result = evaluation.coerce(evaluation.evaluate(node), expectedType);
+        // The kernels read the batch's columns in place; only a bare column reference would hand one out.
+        return evaluation.columns.containsValue(result) ? result.copy() : result;
+    }
+
+    private enum Kind {LONG, DOUBLE, BOOLEAN}
+
+    private static final class Evaluation {
+        private final ELContext context;
+        private final ColumnBatch batch;
+        private final int size;
+        private final Map<String, ColumnResult> columns = new HashMap<>();
+        private final Map<String, Object> invariants = new HashMap<>();
+        private final Map<Node, Kind> kinds = new IdentityHashMap<>();
+
+        private Evaluation(ELContext context, ColumnBatch batch) {
+            this.context = context;
+            this.batch = batch;
+            this.size = batch.size();
+        }
+
+        // Kinds are decided once per batch; a null kind means the node is evaluated row by row.
+        private Kind kind(Node node) {
+            if (kinds.containsKey(node))
+                return kinds.get(node);
+            Kind kind = computeKind(node);
+            kinds.put(node, kind);
+            return kind;
+        }
+
+        private Kind computeKind(Node node) {
+            if (node instanceof IdentifierNode identifier && identifier.depth() < 0) {
+                if (batch.column(identifier.value()) != null)
+                    return kindOf(column(identifier.value()).type());
+                return kindOf(invariant(identifier));
+            }
+            if (node instanceof NumberNode || node instanceof BooleanNode)
+                return kindOf(node.getValue(context));
+            Operation operation = operation(node);
+            if (operation != null) {
+                var infix = (InfixExpressionNode) node;
+                Kind left = kind(infix.left());
+                Kind right = kind(infix.right());
+                if (!isNumeric(left) || !isNumeric(right))
+                    return null;
+                return left == Kind.LONG && right == Kind.LONG && operation.keepsLongs() ? Kind.LONG : Kind.DOUBLE;
+            }
+            if (node instanceof AndNode || node instanceof OrNode) {
+                var relational = (RelationalNode) node;
+                return kind(relational.left()) == Kind.BOOLEAN && kind(relational.right()) == Kind.BOOLEAN
+                        && !canThrow(relational.right()) ? Kind.BOOLEAN : null;
+            }
+            if (node instanceof RelationalNode relational) {
+                Kind left = kind(relational.left());
+                Kind right = kind(relational.right());
+                if (isNumeric(left) && isNumeric(right))
+                    return Kind.BOOLEAN;
+                boolean equality = node instanceof EqualNode || node instanceof NotEqualNode;
+                return equality && left == Kind.BOOLEAN && right == Kind.BOOLEAN ? Kind.BOOLEAN : null;
+            }
+            if (node instanceof UnaryMinusNode minus)
+                return isNumeric(kind(minus.node())) ? kind(minus.node()) : null;
+            if (node instanceof UnaryNotNode not)
+                return kind(not.node()) == Kind.BOOLEAN ? Kind.BOOLEAN : null;
+            if (node instanceof TernaryNode ternary) {
+                Kind whenTrue = kind(ternary.trueExpression());
+                if (kind(ternary.condition()) != Kind.BOOLEAN || whenTrue == null || whenTrue != kind(ternary.falseExpression()))
+                    return null;
+                return canThrow(ternary.trueExpression()) || canThrow(ternary.falseExpression()) ? null : whenTrue;
+            }
+            return null;
+        }
+
+        // The arithmetic nodes, whose kernels apply the same Operation as the nodes themselves.
+        private static Operation operation(Node node) {
+            if (node instanceof AddExpressionNode)
+                return Operation.ADDITION;
+            if (node instanceof SubExpressionNode)
+                return Operation.SUBTRACTION;
+            if (node instanceof MulExpressionNode)
+                return Operation.MULTIPLICATION;
+            if (node instanceof DivExpressionNode)
+                return Operation.DIVISION;
+            if (node instanceof ModExpressionNode)
+                return Operation.MODULO;
+            return null;
+        }
+
+        private static boolean isNumeric(Kind kind) {
+            return kind == Kind.LONG || kind == Kind.DOUBLE;
+        }
+
+        private static Kind kindOf(Object value) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+                return Kind.LONG;
+            if (value instanceof Double || value instanceof Float)
+                return Kind.DOUBLE;
+            if (value instanceof Boolean)
+                return Kind.BOOLEAN;
+            return null;
+        }
+
+        private static Kind kindOf(Class<?> type) {
+            if (type == long.class)
+                return Kind.LONG;
+            if (type == double.class)
+                return Kind.DOUBLE;
+            if (type == boolean.class)
+                return Kind.BOOLEAN;
+            return null;
+        }
+
+        // Every row is computed eagerly by the kernels, so branches that are only reached conditionally must not throw.
+        private boolean canThrow(Node node) {
+            if (node instanceof ModExpressionNode && kind(node) == Kind.LONG)
+                return true;
+            if (node instanceof InfixExpressionNode infix)
+                return canThrow(infix.left()) || canThrow(infix.right());
+            if (node instanceof RelationalNode relational)
+                return canThrow(relational.left()) || canThrow(relational.right());
+            if (node instanceof UnaryMinusNode minus)
+                return canThrow(minus.node());
+            if (node instanceof UnaryNotNode not)
+                return canThrow(not.node());
+            if (node instanceof TernaryNode ternary)
+                return canThrow(ternary.condition()) || canThrow(ternary.trueExpression()) || canThrow(ternary.falseExpression());
+            return false;
+        }
+
+        private Object invariant(IdentifierNode identifier) {
+            if (!invariants.containsKey(identifier.value()))
+                invariants.put(identifier.value(), identifier.getValue(context));
+            return invariants.get(identifier.value());
+        }
+
+        private ColumnResult column(String name) {
+            ColumnResult column = columns.get(name);
+            if (column == null) {
+                column = typed(batch.column(name));
+                columns.put(name, column);
+            }
+            return column;
+        }
+
+        private ColumnResult typed(Object column) {
+            if (column instanceof long[] longs)
+                return ColumnResult.ofLongs(longs);
+            if (column instanceof int[] ints)
+                return ColumnResult.ofLongs(Arrays.stream(ints).asLongStream().toArray());
+            if (column instanceof double[] doubles)
+                return ColumnResult.ofDoubles(doubles);
+            if (column instanceof boolean[] booleans)
+                return ColumnResult.ofBooleans(booleans);
+            Object[] values = column instanceof List<?> list ? list.toArray() : (Object[]) column;
+            if (values.length == 0)
+                return ColumnResult.ofObjects(values);
+            Kind kind = kindOf(values[0]);
+            for (Object value : values) {
+                if (kindOf(value) != kind)
+                    return ColumnResult.ofObjects(values);
+            }
+            if (kind == Kind.LONG) {
+                long[] longs = new long[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    longs[i] = ((Number) values[i]).longValue();
+                }
+                return ColumnResult.ofLongs(longs);
+            }
+            if (kind == Kind.DOUBLE) {
+                double[] doubles = new double[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    doubles[i] = ((Number) values[i]).doubleValue();
+                }
+                return ColumnResult.ofDoubles(doubles);
+            }
+            if (kind == Kind.BOOLEAN) {
+                boolean[] booleans = new boolean[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    booleans[i] = (Boolean) values[i];
+                }
+                return ColumnResult.ofBooleans(booleans);
+            }
+            return ColumnResult.ofObjects(values);
+        }
+
+        private ColumnResult evaluate(Node node) {
+            Kind kind = kind(node);
+            if (kind == null)
+                return rowByRow(node);
+            if (node instanceof IdentifierNode identifier) {
+                if (batch.column(identifier.value()) != null)
+                    return column(identifier.value());
+                return constant(kind, invariant(identifier));
+            }
+            if (node instanceof NumberNode || node instanceof BooleanNode)
+                return constant(kind, node.getValue(context));
+            if (node instanceof AndNode and) {
+                boolean[] left = evaluate(and.left()).booleans();
+                boolean[] right = evaluate(and.right()).booleans();
+                boolean[] result = new boolean[size];
+                for (int i = 0; i < size; i++) {
+                    result[i] = left[i] && right[i];
+                }
+                return ColumnResult.ofBooleans(result);
+            }
+            if (node instanceof OrNode or) {
+                boolean[] left = evaluate(or.left()).booleans();
+                boolean[] right = evaluate(or.right()).booleans();
+                boolean[] result = new boolean[size];
+                for (int i = 0; i < size; i++) {
+                    result[i] = left[i] || right[i];
+                }
+                return ColumnResult.ofBooleans(result);
+            }
+            if (node instanceof RelationalNode relational)
+                return compare(relational);
+            if (node instanceof InfixExpressionNode infix)
+                return arithmetic(infix, kind);
+            if (node instanceof UnaryMinusNode minus) {
+                ColumnResult value = evaluate(minus.node());
+                if (kind == Kind.LONG) {
+                    long[] longs = value.longs();
+                    long[] result = new long[size];
+                    for (int i = 0; i < size; i++) {
+                        result[i] = -longs[i];
+                    }
+                    return ColumnResult.ofLongs(result);
+                }
+                double[] doubles = value.doubles();
+                double[] result = new double[size];
+                for (int i = 0; i < size; i++) {
+                    result[i] = -doubles[i];
+                }
+                return ColumnResult.ofDoubles(result);
+            }
+            if (node instanceof UnaryNotNode not) {
+                boolean[] value = evaluate(not.node()).booleans();
+                boolean[] result = new boolean[size];
+                for (int i = 0; i < size; i++) {
+                    result[i] = !value[i];
+                }
+                return ColumnResult.ofBooleans(result);
+            }
+            var ternary = (TernaryNode) node;
+            boolean[] condition = evaluate(ternary.condition()).booleans();
+            ColumnResult whenTrue = evaluate(ternary.trueExpression());
+            ColumnResult whenFalse = evaluate(ternary.falseExpression());
+            return switch (kind) {
+                case LONG -> {
+                    long[] trueValues = whenTrue.longs();
+                    long[] falseValues = whenFalse.longs();
+                    long[] result = new long[size];
+                    for (int i = 0; i < size; i++) {
+                        result[i] = condition[i] ? trueValues[i] : falseValues[i];
+                    }
+                    yield ColumnResult.ofLongs(result);
+                }
+                case DOUBLE -> {
+                    double[] trueValues = whenTrue.doubles();
+                    double[] falseValues = whenFalse.doubles();
+                    double[] result = new double[size];
+                    for (int i = 0; i < size; i++) {
+                        result[i] = condition[i] ? trueValues[i] : falseValues[i];
+                    }
+                    yield ColumnResult.ofDoubles(result);
+                }
+                case BOOLEAN -> {
+                    boolean[] trueValues = whenTrue.booleans();
+                    boolean[] falseValues = whenFalse.booleans();
+                    boolean[] result = new boolean[size];
+                    for (int i = 0; i < size; i++) {
+                        result[i] = condition[i] ? trueValues[i] : falseValues[i];
+                    }
+                    yield ColumnResult.ofBooleans(result);
+                }
+            };
+        }
+
+        private ColumnResult arithmetic(InfixExpressionNode node, Kind kind) {
+            Operation operation = operation(node);
+            ColumnResult leftColumn = evaluate(node.left());
+            ColumnResult rightColumn = evaluate(node.right());
+            if (kind == Kind.LONG) {
+                long[] left = leftColumn.longs();
+                long[] right = rightColumn.longs();
+                long[] result = new long[size];
+                for (int i = 0; i < size; i++) {
+                    result[i] = operation.calculate(left[i], right[i]);
+                }
+                return ColumnResult.ofLongs(result);
+            }
+            double[] left = doubles(leftColumn);
+            double[] right = doubles(rightColumn);
+            double[] result = new double[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = operation.calculate(left[i], right[i]);
+            }
+            return ColumnResult.ofDoubles(result);
+        }
+
+        private ColumnResult compare(RelationalNode node) {
+            ComparisonOperator operator = ComparisonOperator.of(node);
+            ColumnResult leftColumn = evaluate(node.left());
+            ColumnResult rightColumn = evaluate(node.right());
+            boolean[] result = new boolean[size];
+            if (leftColumn.type() == boolean.class) {
+                boolean[] left = leftColumn.booleans();
+                boolean[] right = rightColumn.booleans();
+                for (int i = 0; i < size; i++) {
+                    result[i] = operator.test(Boolean.compare(left[i], right[i]));
+                }
+                return ColumnResult.ofBooleans(result);
+            }
+            if (leftColumn.type() == long.class && rightColumn.type() == long.class) {
+                long[] left = leftColumn.longs();
+                long[] right = rightColumn.longs();
+                for (int i = 0; i < size; i++) {
+                    result[i] = operator.test(Long.compare(left[i], right[i]));
+                }
+                return ColumnResult.ofBooleans(result);
+            }
+            double[] left = doubles(leftColumn);
+            double[] right = doubles(rightColumn);
+            for (int i = 0; i < size; i++) {
+                result[i] = operator.test(Double.compare(left[i], right[i]));
+            }
+            return ColumnResult.ofBooleans(result);
+        }
+
+        private double[] doubles(ColumnResult column) {
+            if (column.type() == double.class)
+                return column.doubles();
+            long[] longs = column.longs();
+            double[] doubles = new double[size];
+            for (int i = 0; i < size; i++) {
+                doubles[i] = longs[i];
+            }
+            return doubles;
+        }
+
+        private ColumnResult constant(Kind kind, Object value) {
+            return switch (kind) {
+                case LONG -> {
+                    long[] longs = new long[size];
+                    Arrays.fill(longs, ((Number) value).longValue());
+                    yield ColumnResult.ofLongs(longs);
+                }
+                case DOUBLE -> {
+                    double[] doubles = new double[size];
+                    Arrays.fill(doubles, ((Number) value).doubleValue());
+                    yield ColumnResult.ofDoubles(doubles);
+                }
+                case BOOLEAN -> {
+                    boolean[] booleans = new boolean[size];
+                    Arrays.fill(booleans, (Boolean) value);
+                    yield ColumnResult.ofBooleans(booleans);
+                }
+            };
+        }
+
+        // Columns are bound as arguments of a synthetic frame, so identifiers never reach the resolvers.
+        private ColumnResult rowByRow(Node node) {
+            List<String> names = List.copyOf(batch.names());
+            LambdaFrame parent = LambdaFrame.current(context);
+            boolean reusable = !LambdaNode.occursIn(node);
+            Object[] row = new Object[names.size()];
+            LambdaFrame frame = new LambdaFrame(names, row, parent);
+            Object[] result = new Object[size];
+            for (int i = 0; i < size; i++) {
+                if (!reusable) {
+                    row = new Object[names.size()];
+                    frame = new LambdaFrame(names, row, parent);
+                }
+                for (int column = 0; column < row.length; column++) {
+                    row[column] = batch.cell(names.get(column), i);
+                }
+                result[i] = LambdaFrame.evaluate(context, frame, node);
+            }
+            return ColumnResult.ofObjects(result);
+        }
+
+        private ColumnResult coerce(ColumnResult result, Class<?> expectedType) {
+            if (expectedType == null || expectedType == Object.class)
+                return result;
+            Class<?> type = result.type();
+            if (type == long.class && (expectedType == long.class || expectedType == Long.class || expectedType == Number.class)
+                    || type == double.class && (expectedType == double.class || expectedType == Double.class || expectedType == Number.class)
+                    || type == boolean.class && (expectedType == boolean.class || expectedType == Boolean.class))
+                return result;
+            if (type == long.class && (expectedType == double.class || expectedType == Double.class))
+                return ColumnResult.ofDoubles(doubles(result));
+            Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = context.convertToType(result.get(i), expectedType);
+            }
+            return ColumnResult.ofObjects(values);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package dev.thihup.joel.impl.batch;
+
+import dev.thihup.joel.impl.JoelValueExpression;
+import dev.thihup.joel.impl.LambdaFrame;
+import dev.thihup.joel.impl.node.LambdaNode;
+import dev.thihup.joel.impl.node.Node;
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ImportHandler;
+import jakarta.el.ValueExpression;
+import jakarta.el.VariableMapper;
+
+import java.beans.FeatureDescriptor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+public final class RowProjection {
+    private final String[] expressions;
+    private final Node[] nodes;
+    private final Class<?>[] expectedTypes;
+    private final List<String> variable;
+    private final boolean reusableFrame;
+
+    private RowProjection(String[] expressions, Node[] nodes, Class<?>[] expectedTypes, List<String> variable, boolean reusableFrame) {
+        this.expressions = expressions;
+        this.nodes = nodes;
+        this.expectedTypes = expectedTypes;
+        this.variable = variable;
+        this.reusableFrame = reusableFrame;
+    }
+
+    public static RowProjection of(String variable, List<? extends ValueExpression> columns) {
+        Objects.requireNonNull(variable);
+        String[] expressions = new String[columns.size()];
+        Node[] nodes = new Node[columns.size()];
+        Class<?>[] expectedTypes = new Class<?>[columns.size()];
+        boolean reusableFrame = true;
+        for (int i = 0; i < nodes.length; i++) {
+            if (!(columns.get(i) instanceof JoelValueExpression expression))
+                throw new IllegalArgumentException("Expression %s was not created by this implementation".formatted(columns.get(i)));
+            expressions[i] = expression.getExpressionString();
+            nodes[i] = expression.node();
+            expectedTypes[i] = expression.getExpectedType();
+            reusableFrame &= !LambdaNode.occursIn(nodes[i]);
+        }
+        return new RowProjection(expressions, nodes, expectedTypes, List.of(variable), reusableFrame);
+    }
+
+    public int width() {
+        return nodes.length;
+    }
+
+    public Object[] project(ELContext context, Object row) {
+        Object[] values = new Object[nodes.length];
+        project(context, row, values);
+        return values;
+    }
+
+    public void project(ELContext context, Object row, Object[] target) {
+        Objects.requireNonNull(context);
+        if (target.length < nodes.length)
+            throw new IllegalArgumentException("Target holds %d values, expected %d".formatted(target.length, nodes.length));
+        notifyBefore(context);
+        try {
+            var projectionContext = new ProjectionContext(context);
+            projectionContext.row(new LambdaFrame(variable, new Object[]{row}, LambdaFrame.current(context)), target);
+        } finally {
+            notifyAfter(context);
+        }
+    }
+
+    public List<Object[]> project(ELContext context, Iterable<?> rows) {
+        Objects.requireNonNull(context);
+        List<Object[]> projected = new ArrayList<>();
+        notifyBefore(context);
+        try {
+            var projectionContext = new ProjectionContext(context);
+            LambdaFrame parent = LambdaFrame.current(context);
+            Object[] slot = new Object[1];
+            LambdaFrame frame = new LambdaFrame(variable, slot, parent);
+            for (Object row : rows) {
+                if (!reusableFrame)
+                    frame = new LambdaFrame(variable, slot = new Object[1], parent);
+                slot[0] = row;
+                Object[] values = new Object[nodes.length];
+                projectionContext.row(frame, values);
+                projected.add(values);
+            }
+        } finally {
+            notifyAfter(context);
+        }
+        return projected;
+    }
+
+    private void notifyBefore(ELContext context) {
+        for (String expression : expressions) {
+            context.notifyBeforeEvaluation(expression);
+        }
+    }
+
+    private void notifyAfter(ELContext context) {
+        for (String expression : expressions) {
+            context.notifyAfterEvaluation(expression);
+        }
+    }
+
+    // Evaluates every column of a row on a context whose resolver reads each (base, property) pair only once per row.
+    private final class ProjectionContext extends ELContext {
+        private final ELContext parent;
+        private final MemoizingResolver resolver;
+
+        private ProjectionContext(ELContext parent) {
+            this.parent = parent;
+            this.resolver = new MemoizingResolver(parent.getELResolver());
+        }
+
+        private void row(LambdaFrame frame, Object[] target) {
+            resolver.reads.clear();
+            for (int i = 0; i < nodes.length; i++) {
+                target[i] = convertToType(LambdaFrame.evaluate(this, frame, nodes[i]), expectedTypes[i]);
+            }
+        }
+
+        @Override
+        public ELResolver getELResolver() {
+            return resolver;
+        }
+
+        @Override
+        public FunctionMapper getFunctionMapper() {
+            return parent.getFunctionMapper();
+        }
+
+        @Override
+        public VariableMapper getVariableMapper() {
+            return parent.getVariableMapper();
+        }
+
+        @Override
+        public ImportHandler getImportHandler() {
+            return parent.getImportHandler();
+        }
+
+        @Override
+        public Locale getLocale() {
+            return parent.getLocale();
+        }
+
+        @Override
+        public Object getContext(Class<?> key) {
+            Object contextObject = super.getContext(key);
+            return contextObject != null ? contextObject : parent.getContext(key);
+        }
+
+        @Override
+        public boolean isLambdaArgument(String argument) {
+            return super.isLambdaArgument(argument) || parent.isLambdaArgument(argument);
+        }
+
+        @Override
+        public Object getLambdaArgument(String argument) {
+            if (super.isLambdaArgument(argument))
+                return super.getLambdaArgument(argument);
+            return parent.getLambdaArgument(argument);
+        }
+    }
+
+    private static final class MemoizingResolver extends ELResolver {
+        private final ELResolver delegate;
+        private final Map<Read, Object> reads = new HashMap<>();
+
+        private MemoizingResolver(ELResolver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (property == null)
+                return delegate.getValue(context, base, property);
+            var read = new Read(base, property);
+            if (reads.containsKey(read)) {
+                context.setPropertyResolved(base, property);
+                return reads.get(read);
+            }
+            Object value = delegate.getValue(context, base, property);
+            if (context.isPropertyResolved())
+                reads.put(read, value);
+            return value;
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            return delegate.getType(context, base, property);
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+            reads.clear();
+            delegate.setValue(context, base, property, value);
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            return delegate.isReadOnly(context, base, property);
+        }
+
+        @Override
+        public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
+            // A method may change any property read so far.
+            reads.clear();
+            return delegate.invoke(context, base, method, paramTypes, params);
+        }
+
+        @Override
+        public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+            return delegate.getFeatureDescriptors(context, base);
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return delegate.getCommonPropertyType(context, base);
+        }
+
+        @Override
+        public Object convertToType(ELContext context, Object obj, Class<?> targetType) {
+            return delegate.convertToType(context, obj, targetType);
+        }
+    }
+
+    private static final class Read {
+        private final Object base;
+        private final Object property;
+
+        private Read(Object base, Object property) {
+            this.base = base;
+            this.property = property;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Read read && read.base == base && read.property.equals(property);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(base) + property.hashCode();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package dev.thihup.joel.impl.binary;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+// A view of one record inside a buffer; nothing is read until a property is.
+public final class BufferRecord {
+    final RecordLayout layout;
+    final ByteBuffer buffer;
+    final int offset;
+
+    public BufferRecord(RecordLayout layout, ByteBuffer buffer, int offset) {
+        Objects.checkFromIndexSize(offset, layout.size(), buffer.limit());
+        this.layout = layout;
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    public RecordLayout layout() {
+        return layout;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public Object get(String name) {
+        RecordLayout.Field field = layout.fieldNamed(name);
+        if (field == null)
+            throw new IllegalArgumentException("Unknown field: %s".formatted(name));
+        return field.read(buffer, offset);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof BufferRecord record && record.layout == layout && record.buffer == buffer && record.offset == offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(buffer) + offset;
+    }
+
+    @Override
+    public String toString() {
+        var joiner = new StringJoiner(", ", "BufferRecord[", "]");
+        for (String name : layout.names()) {
+            joiner.add(name + "=" + get(name));
+        }
+        return joiner.toString();
+    }
+}
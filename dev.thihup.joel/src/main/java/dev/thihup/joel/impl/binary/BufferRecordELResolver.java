@@ -0,0 +1,75 @@
+package dev.thihup.joel.impl.binary;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.PropertyNotFoundException;
+import jakarta.el.PropertyNotWritableException;
+
+import java.beans.FeatureDescriptor;
+import java.util.Iterator;
+import java.util.Objects;
+
+// Reads the fields of a BufferRecord straight from its buffer.
+public final class BufferRecordELResolver extends ELResolver {
+
+    public BufferRecordELResolver() {
+    }
+
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+        Objects.requireNonNull(context);
+        if (!(base instanceof BufferRecord record))
+            return null;
+        context.setPropertyResolved(base, property);
+        return field(record, property).read(record.buffer, record.offset);
+    }
+
+    @Override
+    public Class<?> getType(ELContext context, Object base, Object property) {
+        Objects.requireNonNull(context);
+        if (!(base instanceof BufferRecord record))
+            return null;
+        context.setPropertyResolved(base, property);
+        RecordLayout.Field field = field(record, property);
+        return record.buffer.isReadOnly() ? null : field.type;
+    }
+
+    @Override
+    public void setValue(ELContext context, Object base, Object property, Object value) {
+        Objects.requireNonNull(context);
+        if (!(base instanceof BufferRecord record))
+            return;
+        context.setPropertyResolved(base, property);
+        RecordLayout.Field field = field(record, property);
+        if (record.buffer.isReadOnly())
+            throw new PropertyNotWritableException("Property %s is read only".formatted(property));
+        field.write(record.buffer, record.offset, context.convertToType(value, field.type));
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context, Object base, Object property) {
+        Objects.requireNonNull(context);
+        if (!(base instanceof BufferRecord record))
+            return false;
+        context.setPropertyResolved(base, property);
+        field(record, property);
+        return record.buffer.isReadOnly();
+    }
+
+    @Override
+    public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+        return null;
+    }
+
+    @Override
+    public Class<?> getCommonPropertyType(ELContext context, Object base) {
+        return base instanceof BufferRecord ? String.class : null;
+    }
+
+    private static RecordLayout.Field field(BufferRecord record, Object property) {
+        RecordLayout.Field field = record.layout.fieldNamed(property);
+        if (field == null)
+            throw new PropertyNotFoundException("Property %s not found in %s".formatted(property, record.layout.names()));
+        return field;
+    }
+}
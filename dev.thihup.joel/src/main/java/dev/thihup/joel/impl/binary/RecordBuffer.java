@@ -0,0 +1,35 @@
+package dev.thihup.joel.impl.binary;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+// The records stored between the position and the limit of a buffer, such as a memory-mapped file.
+public final class RecordBuffer extends AbstractList<BufferRecord> implements RandomAccess {
+    private final RecordLayout layout;
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int size;
+
+    public RecordBuffer(RecordLayout layout, ByteBuffer buffer) {
+        if (layout.size() == 0)
+            throw new IllegalArgumentException("Layout has no fields");
+        if (buffer.order() != layout.order())
+            buffer = buffer.duplicate().order(layout.order());
+        this.layout = layout;
+        this.buffer = buffer;
+        this.start = buffer.position();
+        this.size = buffer.remaining() / layout.size();
+    }
+
+    @Override
+    public BufferRecord get(int index) {
+        return new BufferRecord(layout, buffer, start + Objects.checkIndex(index, size) * layout.size());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,150 @@
+package dev.thihup.joel.impl.binary;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public final class RecordLayout {
+    private final ByteOrder order;
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+    private int end;
+    private int size;
+
+    public RecordLayout(ByteOrder order) {
+        this.order = Objects.requireNonNull(order);
+    }
+
+    public RecordLayout field(String name, Class<?> type) {
+        return field(name, type, end);
+    }
+
+    public RecordLayout field(String name, Class<?> type, int offset) {
+        int width = width(type);
+        VarHandle handle = width > 1 ? MethodHandles.byteBufferViewVarHandle(type.arrayType(), order) : null;
+        return add(new Field(name, type, offset, width, handle));
+    }
+
+    // Fixed width ISO-8859-1 text; trailing NUL bytes are not part of the value.
+    public RecordLayout text(String name, int length) {
+        if (length <= 0)
+            throw new IllegalArgumentException("Text field %s needs a positive length: %d".formatted(name, length));
+        return add(new Field(name, String.class, end, length, null));
+    }
+
+    public RecordLayout padding(int bytes) {
+        if (bytes < 0)
+            throw new IllegalArgumentException("Negative padding: %d".formatted(bytes));
+        end += bytes;
+        size = Math.max(size, end);
+        return this;
+    }
+
+    // Records may be larger than their last field, for instance when they are aligned.
+    public RecordLayout size(int size) {
+        if (size < this.size)
+            throw new IllegalArgumentException("Record size %d is smaller than its fields: %d".formatted(size, this.size));
+        this.size = size;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ByteOrder order() {
+        return order;
+    }
+
+    public Set<String> names() {
+        return Collections.unmodifiableSet(fields.keySet());
+    }
+
+    Field fieldNamed(Object name) {
+        return fields.get(name);
+    }
+
+    private RecordLayout add(Field field) {
+        Objects.requireNonNull(field.name);
+        if (field.offset < 0)
+            throw new IllegalArgumentException("Field %s has a negative offset: %d".formatted(field.name, field.offset));
+        if (fields.putIfAbsent(field.name, field) != null)
+            throw new IllegalArgumentException("Duplicate field: %s".formatted(field.name));
+        end = field.offset + field.width;
+        size = Math.max(size, end);
+        return this;
+    }
+
+    private static int width(Class<?> type) {
+        if (type == byte.class || type == boolean.class) return Byte.BYTES;
+        if (type == short.class) return Short.BYTES;
+        if (type == char.class) return Character.BYTES;
+        if (type == int.class) return Integer.BYTES;
+        if (type == float.class) return Float.BYTES;
+        if (type == long.class) return Long.BYTES;
+        if (type == double.class) return Double.BYTES;
+        throw new IllegalArgumentException("Unsupported field type: %s".formatted(type));
+    }
+
+    static final class Field {
+        final String name;
+        final Class<?> type;
+        final int offset;
+        final int width;
+        private final VarHandle handle;
+
+        private Field(String name, Class<?> type, int offset, int width, VarHandle handle) {
+            this.name = name;
+            this.type = type;
+            this.offset = offset;
+            this.width = width;
+            this.handle = handle;
+        }
+
+        Object read(ByteBuffer buffer, int record) {
+            int index = record + offset;
+            if (type == long.class) return (long) handle.get(buffer, index);
+            if (type == double.class) return (double) handle.get(buffer, index);
+            if (type == int.class) return (int) handle.get(buffer, index);
+            if (type == float.class) return (float) handle.get(buffer, index);
+            if (type == short.class) return (short) handle.get(buffer, index);
+            if (type == char.class) return (char) handle.get(buffer, index);
+            if (type == byte.class) return buffer.get(index);
+            if (type == boolean.class) return buffer.get(index) != 0;
+            int length = width;
+            while (length > 0 && buffer.get(index + length - 1) == 0) {
+                length--;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(index, bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        void write(ByteBuffer buffer, int record, Object value) {
+            int index = record + offset;
+            if (type == long.class) handle.set(buffer, index, (long) value);
+            else if (type == double.class) handle.set(buffer, index, (double) value);
+            else if (type == int.class) handle.set(buffer, index, (int) value);
+            else if (type == float.class) handle.set(buffer, index, (float) value);
+            else if (type == short.class) handle.set(buffer, index, (short) value);
+            else if (type == char.class) handle.set(buffer, index, (char) value);
+            else if (type == byte.class) buffer.put(index, (byte) value);
+            else if (type == boolean.class) buffer.put(index, (byte) ((boolean) value ? 1 : 0));
+            else {
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.ISO_8859_1);
+                if (bytes.length > width)
+                    throw new IllegalArgumentException("Text %s does not fit in %d bytes".formatted(value, width));
+                buffer.put(index, bytes);
+                for (int i = bytes.length; i < width; i++) {
+                    buffer.put(index + i, (byte) 0);
+                }
+            }
+        }
+    }
+}
@@ -15,6 +15,16 @@ public sealed interface Operation {
 
     Object calculate(Object leftValue, Object rightValue, ELContext context);
 
+    // The LONG and DOUBLE cases of calculate on primitives, so that the columnar kernels cannot drift from them.
+    long calculate(long leftValue, long rightValue);
+
+    double calculate(double leftValue, double rightValue);
+
+    // Whether two long operands give a long; division carries them out as doubles.
+    default boolean keepsLongs() {
+        return true;
+    }
+
     record Addition() implements Operation {
         @Override
         public Object calculate(Object leftValue, Object rightValue, ELContext context) {
@@ -22,10 +32,20 @@ public sealed interface Operation {
                 case ZERO -> 0L;
                 case BIG_DECIMAL -> ((BigDecimal) context.convertToType(leftValue, BigDecimal.class)).add((BigDecimal) context.convertToType(rightValue, BigDecimal.class));
                 case BIG_INTEGER -> ((BigInteger) context.convertToType(leftValue, BigInteger.class)).add((BigInteger) context.convertToType(rightValue, BigInteger.class));
-                case DOUBLE -> ((Double) context.convertToType(leftValue, Double.class)) + ((Double) context.convertToType(rightValue, Double.class));
-                case LONG -> ((Long) context.convertToType(leftValue, Long.class)) + ((Long) context.convertToType(rightValue, Long.class));
+                case DOUBLE -> calculate((Double) context.convertToType(leftValue, Double.class), (Double) context.convertToType(rightValue, Double.class));
+                case LONG -> calculate((Long) context.convertToType(leftValue, Long.class), (Long) context.convertToType(rightValue, Long.class));
             };
         }
+
+        @Override
+        public long calculate(long leftValue, long rightValue) {
+            return leftValue + rightValue;
+        }
+
+        @Override
+        public double calculate(double leftValue, double rightValue) {
+            return leftValue + rightValue;
+        }
     }
 
     record Subtraction() implements Operation {
@@ -35,10 +55,20 @@ public sealed interface Operation {
                 case ZERO -> 0L;
                 case BIG_DECIMAL -> ((BigDecimal) context.convertToType(leftValue, BigDecimal.class)).subtract((BigDecimal) context.convertToType(rightValue, BigDecimal.class));
                 case BIG_INTEGER -> ((BigInteger) context.convertToType(leftValue, BigInteger.class)).subtract((BigInteger) context.convertToType(rightValue, BigInteger.class));
-                case DOUBLE -> ((Double) context.convertToType(leftValue, Double.class)) - ((Double) context.convertToType(rightValue, Double.class));
-                case LONG -> ((Long) context.convertToType(leftValue, Long.class)) - ((Long) context.convertToType(rightValue, Long.class));
+                case DOUBLE -> calculate((Double) context.convertToType(leftValue, Double.class), (Double) context.convertToType(rightValue, Double.class));
+                case LONG -> calculate((Long) context.convertToType(leftValue, Long.class), (Long) context.convertToType(rightValue, Long.class));
             };
         }
+
+        @Override
+        public long calculate(long leftValue, long rightValue) {
+            return leftValue - rightValue;
+        }
+
+        @Override
+        public double calculate(double leftValue, double rightValue) {
+            return leftValue - rightValue;
+        }
     }
 
     record Multiplication() implements Operation {
@@ -48,10 +78,20 @@ public sealed interface Operation {
                 case ZERO -> 0L;
                 case BIG_DECIMAL -> ((BigDecimal) context.convertToType(leftValue, BigDecimal.class)).multiply((BigDecimal) context.convertToType(rightValue, BigDecimal.class));
                 case BIG_INTEGER -> ((BigInteger) context.convertToType(leftValue, BigInteger.class)).multiply((BigInteger) context.convertToType(rightValue, BigInteger.class));
-                case DOUBLE -> ((Double) context.convertToType(leftValue, Double.class)) * ((Double) context.convertToType(rightValue, Double.class));
-                case LONG -> ((Long) context.convertToType(leftValue, Long.class)) * ((Long) context.convertToType(rightValue, Long.class));
+                case DOUBLE -> calculate((Double) context.convertToType(leftValue, Double.class), (Double) context.convertToType(rightValue, Double.class));
+                case LONG -> calculate((Long) context.convertToType(leftValue, Long.class), (Long) context.convertToType(rightValue, Long.class));
             };
         }
+
+        @Override
+        public long calculate(long leftValue, long rightValue) {
+            return leftValue * rightValue;
+        }
+
+        @Override
+        public double calculate(double leftValue, double rightValue) {
+            return leftValue * rightValue;
+        }
     }
 
     record Division() implements Operation {
@@ -60,9 +100,24 @@ public sealed interface Operation {
             return switch (ConversionType.of(leftValue, rightValue)) {
                 case ZERO -> 0L;
                 case BIG_DECIMAL, BIG_INTEGER -> ((BigDecimal) context.convertToType(leftValue, BigDecimal.class)).divide((BigDecimal) context.convertToType(rightValue, BigDecimal.class), RoundingMode.HALF_UP);
-                case DOUBLE, LONG -> ((Double) context.convertToType(leftValue, Double.class)) / ((Double) context.convertToType(rightValue, Double.class));
+                case DOUBLE, LONG -> calculate((Double) context.convertToType(leftValue, Double.class), (Double) context.convertToType(rightValue, Double.class));
             };
         }
+
+        @Override
+        public long calculate(long leftValue, long rightValue) {
+            throw new UnsupportedOperationException("Long operands are divided as doubles");
+        }
+
+        @Override
+        public double calculate(double leftValue, double rightValue) {
+            return leftValue / rightValue;
+        }
+
+        @Override
+        public boolean keepsLongs() {
+            return false;
+        }
     }
 
     record Modulo() implements Operation {
@@ -70,11 +125,21 @@ public sealed interface Operation {
         public Object calculate(Object leftValue, Object rightValue, ELContext context) {
             return switch (ConversionType.of(leftValue, rightValue)) {
                 case ZERO -> 0L;
-                case DOUBLE, BIG_DECIMAL -> ((Double) context.convertToType(leftValue, Double.class)) % ((Double) context.convertToType(rightValue, Double.class));
+                case DOUBLE, BIG_DECIMAL -> calculate((Double) context.convertToType(leftValue, Double.class), (Double) context.convertToType(rightValue, Double.class));
                 case BIG_INTEGER -> ((BigInteger) context.convertToType(leftValue, BigInteger.class)).remainder((BigInteger) context.convertToType(rightValue, BigInteger.class));
-                case LONG -> ((Long) context.convertToType(leftValue, Long.class)) % ((Long) context.convertToType(rightValue, Long.class));
+                case LONG -> calculate((Long) context.convertToType(leftValue, Long.class), (Long) context.convertToType(rightValue, Long.class));
             };
         }
+
+        @Override
+        public long calculate(long leftValue, long rightValue) {
+            return leftValue % rightValue;
+        }
+
+        @Override
+        public double calculate(double leftValue, double rightValue) {
+            return leftValue % rightValue;
+        }
     }
 
 }
@@ -0,0 +1,281 @@
+package dev.thihup.joel.impl.collection;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// A stream that is only opened by its first operation, so the EL operations before it can still be handled differently.
+abstract class DeferredStream<E> implements Stream<E> {
+    boolean parallel;
+    private boolean linked;
+    private Stream<E> delegate;
+
+    DeferredStream(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    abstract Stream<E> open();
+
+    // Takes the stream over instead of opening it; returns false when an operation already did.
+    final boolean claim() {
+        if (linked)
+            return false;
+        linked = true;
+        return true;
+    }
+
+    final boolean isLinked() {
+        return linked;
+    }
+
+    private Stream<E> delegate() {
+        if (delegate == null) {
+            if (linked)
+                throw new IllegalStateException("stream has already been operated upon or closed");
+            linked = true;
+            delegate = parallel ? open().parallel() : open();
+        }
+        return delegate;
+    }
+
+    @Override
+    public Stream<E> filter(Predicate<? super E> predicate) {
+        return delegate().filter(predicate);
+    }
+
+    @Override
+    public <R> Stream<R> map(Function<? super E, ? extends R> mapper) {
+        return delegate().map(mapper);
+    }
+
+    @Override
+    public IntStream mapToInt(ToIntFunction<? super E> mapper) {
+        return delegate().mapToInt(mapper);
+    }
+
+    @Override
+    public LongStream mapToLong(ToLongFunction<? super E> mapper) {
+        return delegate().mapToLong(mapper);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(ToDoubleFunction<? super E> mapper) {
+        return delegate().mapToDouble(mapper);
+    }
+
+    @Override
+    public <R> Stream<R> flatMap(Function<? super E, ? extends Stream<? extends R>> mapper) {
+        return delegate().flatMap(mapper);
+    }
+
+    @Override
+    public IntStream flatMapToInt(Function<? super E, ? extends IntStream> mapper) {
+        return delegate().flatMapToInt(mapper);
+    }
+
+    @Override
+    public LongStream flatMapToLong(Function<? super E, ? extends LongStream> mapper) {
+        return delegate().flatMapToLong(mapper);
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(Function<? super E, ? extends DoubleStream> mapper) {
+        return delegate().flatMapToDouble(mapper);
+    }
+
+    @Override
+    public Stream<E> distinct() {
+        return delegate().distinct();
+    }
+
+    @Override
+    public Stream<E> sorted() {
+        return delegate().sorted();
+    }
+
+    @Override
+    public Stream<E> sorted(Comparator<? super E> comparator) {
+        return delegate().sorted(comparator);
+    }
+
+    @Override
+    public Stream<E> peek(Consumer<? super E> action) {
+        return delegate().peek(action);
+    }
+
+    @Override
+    public Stream<E> limit(long maxSize) {
+        return delegate().limit(maxSize);
+    }
+
+    @Override
+    public Stream<E> skip(long n) {
+        return delegate().skip(n);
+    }
+
+    @Override
+    public Stream<E> takeWhile(Predicate<? super E> predicate) {
+        return delegate().takeWhile(predicate);
+    }
+
+    @Override
+    public Stream<E> dropWhile(Predicate<? super E> predicate) {
+        return delegate().dropWhile(predicate);
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        delegate().forEach(action);
+    }
+
+    @Override
+    public void forEachOrdered(Consumer<? super E> action) {
+        delegate().forEachOrdered(action);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return delegate().toArray();
+    }
+
+    @Override
+    public <A> A[] toArray(IntFunction<A[]> generator) {
+        return delegate().toArray(generator);
+    }
+
+    @Override
+    public E reduce(E identity, BinaryOperator<E> accumulator) {
+        return delegate().reduce(identity, accumulator);
+    }
+
+    @Override
+    public Optional<E> reduce(BinaryOperator<E> accumulator) {
+        return delegate().reduce(accumulator);
+    }
+
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super E, U> accumulator, BinaryOperator<U> combiner) {
+        return delegate().reduce(identity, accumulator, combiner);
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super E> accumulator, BiConsumer<R, R> combiner) {
+        return delegate().collect(supplier, accumulator, combiner);
+    }
+
+    @Override
+    public <R, A> R collect(Collector<? super E, A, R> collector) {
+        return delegate().collect(collector);
+    }
+
+    @Override
+    public List<E> toList() {
+        return delegate().toList();
+    }
+
+    @Override
+    public Optional<E> min(Comparator<? super E> comparator) {
+        return delegate().min(comparator);
+    }
+
+    @Override
+    public Optional<E> max(Comparator<? super E> comparator) {
+        return delegate().max(comparator);
+    }
+
+    @Override
+    public long count() {
+        return delegate().count();
+    }
+
+    @Override
+    public boolean anyMatch(Predicate<? super E> predicate) {
+        return delegate().anyMatch(predicate);
+    }
+
+    @Override
+    public boolean allMatch(Predicate<? super E> predicate) {
+        return delegate().allMatch(predicate);
+    }
+
+    @Override
+    public boolean noneMatch(Predicate<? super E> predicate) {
+        return delegate().noneMatch(predicate);
+    }
+
+    @Override
+    public Optional<E> findFirst() {
+        return delegate().findFirst();
+    }
+
+    @Override
+    public Optional<E> findAny() {
+        return delegate().findAny();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return delegate().iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return delegate().spliterator();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return delegate == null ? parallel : delegate.isParallel();
+    }
+
+    @Override
+    public Stream<E> sequential() {
+        if (delegate != null || linked)
+            return delegate().sequential();
+        parallel = false;
+        return this;
+    }
+
+    @Override
+    public Stream<E> parallel() {
+        if (delegate != null || linked)
+            return delegate().parallel();
+        parallel = true;
+        return this;
+    }
+
+    @Override
+    public Stream<E> unordered() {
+        return delegate().unordered();
+    }
+
+    @Override
+    public Stream<E> onClose(Runnable closeHandler) {
+        return delegate().onClose(closeHandler);
+    }
+
+    @Override
+    public void close() {
+        if (delegate != null)
+            delegate.close();
+        linked = true;
+    }
+}
@@ -0,0 +1,359 @@
+package dev.thihup.joel.impl.collection;
+
+import dev.thihup.joel.impl.SortKeys;
+import dev.thihup.joel.impl.node.AndNode;
+import dev.thihup.joel.impl.node.EqualNode;
+import dev.thihup.joel.impl.node.GreaterEqualNode;
+import dev.thihup.joel.impl.node.GreaterThanNode;
+import dev.thihup.joel.impl.node.LessEqualNode;
+import dev.thihup.joel.impl.node.LessThanNode;
+import dev.thihup.joel.impl.node.Node;
+import dev.thihup.joel.impl.node.RelationalNode;
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.ELResolver;
+import jakarta.el.LambdaExpression;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public final class IndexedCollection<E> extends AbstractCollection<E> {
+    private enum Operator {
+        EQUAL, LESS_THAN, LESS_EQUAL, GREATER_THAN, GREATER_EQUAL;
+
+        private Operator flip() {
+            return switch (this) {
+                case LESS_THAN -> GREATER_THAN;
+                case LESS_EQUAL -> GREATER_EQUAL;
+                case GREATER_THAN -> LESS_THAN;
+                case GREATER_EQUAL -> LESS_EQUAL;
+                case EQUAL -> EQUAL;
+            };
+        }
+
+        private boolean test(int comparison) {
+            return switch (this) {
+                case LESS_THAN -> comparison < 0;
+                case LESS_EQUAL -> comparison <= 0;
+                case GREATER_THAN -> comparison > 0;
+                case GREATER_EQUAL -> comparison >= 0;
+                case EQUAL -> comparison == 0;
+            };
+        }
+    }
+
+    private final List<E> elements;
+    private final Map<List<String>, PropertyIndex> indexes = new ConcurrentHashMap<>();
+    private volatile int version;
+
+    public IndexedCollection(Collection<? extends E> elements) {
+        this.elements = new ArrayList<>(elements);
+    }
+
+    public int version() {
+        return version;
+    }
+
+    // Elements changed in place are not seen by the collection, so their owner has to invalidate the indexes.
+    public void invalidate() {
+        version++;
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public boolean add(E element) {
+        elements.add(element);
+        version++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        version++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<E> iterator = elements.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                version++;
+            }
+        };
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return new IndexedStream<>(this, false);
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        return new IndexedStream<>(this, true);
+    }
+
+    Stream<E> elementStream() {
+        return elements.stream();
+    }
+
+    // Answers stream().filter(predicate) from an index, or returns null when the stream or predicate cannot use one.
+    public static Stream<?> filter(ELContext context, Stream<?> stream, LambdaExpression predicate) {
+        if (!(stream instanceof IndexedStream<?> indexed))
+            return null;
+        return indexed.select(context, predicate);
+    }
+
+    // Returns the elements matching the predicate in encounter order, or null when no index can answer it.
+    public List<E> select(ELContext context, LambdaExpression predicate) {
+        Node body = LambdaBodies.body(predicate);
+        if (body == null)
+            return null;
+        List<Lookup> lookups = new ArrayList<>();
+        boolean residual = collect(body, lookups);
+        Lookup lookup = null;
+        for (Lookup candidate : lookups) {
+            if (lookup == null || candidate.operator() == Operator.EQUAL && lookup.operator() != Operator.EQUAL)
+                lookup = candidate;
+        }
+        if (lookup == null)
+            return null;
+
+        PropertyIndex index = index(context, lookup.path());
+        if (index == null)
+            return null;
+        Object value = LambdaBodies.evaluate(context, predicate, lookup.value());
+        int[] positions = lookup.operator() == Operator.EQUAL ? index.equalTo(context, value) : index.range(context, lookup.operator(), value);
+        if (positions == null)
+            return null;
+
+        List<E> matches = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            E element = elements.get(position);
+            if (!residual || (boolean) context.convertToType(predicate.invoke(context, element), boolean.class))
+                matches.add(element);
+        }
+        return matches;
+    }
+
+    // Collects the indexable comparisons of a conjunction; returns true when other conjuncts still have to be tested.
+    private static boolean collect(Node node, List<Lookup> lookups) {
+        if (node instanceof AndNode and) {
+            collect(and.left(), lookups);
+            collect(and.right(), lookups);
+            return true;
+        }
+        Operator operator;
+        if (node instanceof EqualNode) operator = Operator.EQUAL;
+        else if (node instanceof LessThanNode) operator = Operator.LESS_THAN;
+        else if (node instanceof LessEqualNode) operator = Operator.LESS_EQUAL;
+        else if (node instanceof GreaterThanNode) operator = Operator.GREATER_THAN;
+        else if (node instanceof GreaterEqualNode) operator = Operator.GREATER_EQUAL;
+        else return true;
+
+        var relational = (RelationalNode) node;
+        List<String> path;
+        if ((path = LambdaBodies.path(relational.left())) != null && LambdaBodies.isInvariant(relational.right()))
+            lookups.add(new Lookup(path, operator, relational.right()));
+        else if ((path = LambdaBodies.path(relational.right())) != null && LambdaBodies.isInvariant(relational.left()))
+            lookups.add(new Lookup(path, operator.flip(), relational.left()));
+        else
+            return true;
+        return false;
+    }
+
+    private PropertyIndex index(ELContext context, List<String> path) {
+        int current = version;
+        PropertyIndex index = indexes.get(path);
+        if (index != null && index.version == current)
+            return index.keyType == null ? null : index;
+        index = PropertyIndex.build(context, elements, path, current);
+        indexes.put(List.copyOf(path), index);
+        return index.keyType == null ? null : index;
+    }
+
+    private record Lookup(List<String> path, Operator operator, Node value) {
+    }
+
+    private static final class PropertyIndex {
+        private final int version;
+        private final Object[] keys;
+        private final Class<?> keyType;
+        private Map<Object, int[]> buckets;
+        private int[] sorted;
+
+        private PropertyIndex(int version, Object[] keys, Class<?> keyType) {
+            this.version = version;
+            this.keys = keys;
+            this.keyType = keyType;
+        }
+
+        // Keys are normalised the way EL compares them; collections with mixed key types are not indexed.
+        private static PropertyIndex build(ELContext context, List<?> elements, List<String> path, int version) {
+            Object[] keys = new Object[elements.size()];
+            Class<?> keyType = null;
+            boolean mixed = false;
+            try {
+                for (int i = 0; i < keys.length; i++) {
+                    Object key = key(context, elements.get(i), path);
+                    if (key instanceof Integer || key instanceof Short || key instanceof Byte)
+                        key = ((Number) key).longValue();
+                    else if (key instanceof Float value)
+                        key = value.doubleValue();
+                    keys[i] = key;
+                    if (key == null)
+                        continue;
+                    Class<?> type = key instanceof Enum<?> constant ? constant.getDeclaringClass() : key.getClass();
+                    if (type != Long.class && type != Double.class && type != String.class && type != Boolean.class && !type.isEnum())
+                        mixed = true;
+                    else if (keyType == null)
+                        keyType = type;
+                    else if (keyType != type)
+                        mixed = true;
+                }
+            } catch (ELException exception) {
+                mixed = true;
+            }
+            return new PropertyIndex(version, keys, mixed ? null : keyType);
+        }
+
+        private static Object key(ELContext context, Object element, List<String> path) {
+            ELResolver resolver = context.getELResolver();
+            Object value = element;
+            for (String property : path) {
+                if (value == null)
+                    return null;
+                context.setPropertyResolved(false);
+                value = resolver.getValue(context, value, property);
+                if (!context.isPropertyResolved())
+                    throw new ELException("Property %s not found".formatted(property));
+            }
+            return value;
+        }
+
+        private int[] equalTo(ELContext context, Object value) {
+            if (value != null) {
+                if (value instanceof Integer || value instanceof Short || value instanceof Byte)
+                    value = ((Number) value).longValue();
+                else if (value instanceof Float number)
+                    value = number.doubleValue();
+                if (keyType == Double.class && value instanceof Long number)
+                    value = number.doubleValue();
+                else if (keyType.isEnum() && value instanceof String name) {
+                    try {
+                        value = context.convertToType(name, keyType);
+                    } catch (ELException exception) {
+                        return null;
+                    }
+                }
+                if (value.getClass() != keyType && !(value instanceof Enum<?> constant && constant.getDeclaringClass() == keyType))
+                    return null;
+            }
+            int[] positions = buckets().get(value);
+            return positions == null ? new int[0] : positions;
+        }
+
+        private int[] range(ELContext context, Operator operator, Object bound) {
+            if (bound == null)
+                return new int[0];
+            if (bound instanceof Integer || bound instanceof Short || bound instanceof Byte)
+                bound = ((Number) bound).longValue();
+            else if (bound instanceof Float number)
+                bound = number.doubleValue();
+            boolean numeric = (keyType == Long.class || keyType == Double.class) && (bound instanceof Long || bound instanceof Double);
+            if (!numeric && !(keyType == String.class && bound instanceof String))
+                return null;
+
+            int[] sorted = sorted(context);
+            boolean ascending = operator == Operator.GREATER_THAN || operator == Operator.GREATER_EQUAL;
+            // The predicate is monotonic over the sorted keys, so a binary search finds where it flips.
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (operator.test(compare(keys[sorted[middle]], bound)) == ascending)
+                    high = middle;
+                else
+                    low = middle + 1;
+            }
+            int[] positions = ascending ? Arrays.copyOfRange(sorted, low, sorted.length) : Arrays.copyOf(sorted, low);
+            Arrays.sort(positions);
+            return positions;
+        }
+
+        private static int compare(Object key, Object bound) {
+            if (key instanceof Long value && bound instanceof Long limit)
+                return Long.compare(value, limit);
+            if (key instanceof Number value)
+                return Double.valueOf(value.doubleValue()).compareTo(((Number) bound).doubleValue());
+            return ((String) key).compareTo((String) bound);
+        }
+
+        private synchronized Map<Object, int[]> buckets() {
+            if (buckets != null)
+                return buckets;
+            Map<Object, int[]> buckets = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                // Slot 0 holds the bucket size until the buckets are trimmed.
+                int[] bucket = buckets.get(keys[i]);
+                if (bucket == null)
+                    bucket = new int[2];
+                else if (bucket[0] + 1 == bucket.length)
+                    bucket = Arrays.copyOf(bucket, bucket.length * 2);
+                bucket[++bucket[0]] = i;
+                buckets.put(keys[i], bucket);
+            }
+            buckets.replaceAll((key, bucket) -> Arrays.copyOfRange(bucket, 1, bucket[0] + 1));
+            return this.buckets = buckets;
+        }
+
+        // Positions of the non-null keys in ascending key order; EL never orders null.
+        private synchronized int[] sorted(ELContext context) {
+            if (sorted != null)
+                return sorted;
+            int count = 0;
+            for (Object key : keys) {
+                if (key != null)
+                    count++;
+            }
+            int[] positions = new int[count];
+            Object[] present = new Object[count];
+            for (int i = 0, j = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    positions[j] = i;
+                    present[j++] = keys[i];
+                }
+            }
+            int[] order = SortKeys.of(context, present).order();
+            int[] sorted = new int[count];
+            for (int i = 0; i < count; i++) {
+                sorted[i] = positions[order[i]];
+            }
+            return this.sorted = sorted;
+        }
+    }
+}
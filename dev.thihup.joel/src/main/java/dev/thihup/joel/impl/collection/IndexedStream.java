@@ -0,0 +1,31 @@
+package dev.thihup.joel.impl.collection;
+
+import jakarta.el.ELContext;
+import jakarta.el.LambdaExpression;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// A stream over an indexed collection that stays unopened until its first operation, so an EL filter can still be answered from an index.
+final class IndexedStream<E> extends DeferredStream<E> {
+    private final IndexedCollection<E> source;
+
+    IndexedStream(IndexedCollection<E> source, boolean parallel) {
+        super(parallel);
+        this.source = source;
+    }
+
+    Stream<E> select(ELContext context, LambdaExpression predicate) {
+        if (isLinked())
+            return null;
+        List<E> matches = source.select(context, predicate);
+        if (matches == null || !claim())
+            return null;
+        return parallel ? matches.parallelStream() : matches.stream();
+    }
+
+    @Override
+    Stream<E> open() {
+        return source.elementStream();
+    }
+}
@@ -0,0 +1,68 @@
+package dev.thihup.joel.impl.collection;
+
+import dev.thihup.joel.impl.JoelLambdaExpression;
+import dev.thihup.joel.impl.JoelValueExpression;
+import dev.thihup.joel.impl.LambdaFrame;
+import dev.thihup.joel.impl.node.BooleanNode;
+import dev.thihup.joel.impl.node.IdentifierNode;
+import dev.thihup.joel.impl.node.MemberNode;
+import dev.thihup.joel.impl.node.Node;
+import dev.thihup.joel.impl.node.NullNode;
+import dev.thihup.joel.impl.node.NumberNode;
+import dev.thihup.joel.impl.node.StringNode;
+import dev.thihup.joel.impl.node.UnaryMinusNode;
+import jakarta.el.ELContext;
+import jakarta.el.LambdaExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads the body of a single parameter lambda as property paths of its parameter and values that do not depend on it.
+final class LambdaBodies {
+
+    private LambdaBodies() {
+    }
+
+    static Node body(LambdaExpression expression) {
+        if (expression instanceof JoelLambdaExpression lambda && lambda.parameters().size() == 1
+                && lambda.body() instanceof JoelValueExpression body)
+            return body.node();
+        return null;
+    }
+
+    static List<String> path(Node node) {
+        if (node instanceof IdentifierNode identifier && identifier.depth() == 0 && identifier.slot() == 0)
+            return new ArrayList<>();
+        if (node instanceof MemberNode member) {
+            List<String> path = path(member.object());
+            if (path == null)
+                return null;
+            if (member.property() instanceof IdentifierNode property)
+                path.add(property.value());
+            else if (member.property() instanceof StringNode property)
+                path.add(property.value());
+            else
+                return null;
+            return path;
+        }
+        return null;
+    }
+
+    static boolean isInvariant(Node node) {
+        if (node instanceof NumberNode || node instanceof StringNode || node instanceof BooleanNode || node instanceof NullNode)
+            return true;
+        if (node instanceof UnaryMinusNode minus)
+            return minus.node() instanceof NumberNode;
+        if (node instanceof IdentifierNode identifier)
+            return identifier.depth() != 0;
+        if (node instanceof MemberNode member)
+            return isInvariant(member.object()) && (member.property() instanceof IdentifierNode || member.property() instanceof StringNode);
+        return false;
+    }
+
+    // Evaluates an invariant part of the body in the scope the lambda was created in.
+    static Object evaluate(ELContext context, LambdaExpression expression, Node node) {
+        var lambda = (JoelLambdaExpression) expression;
+        return LambdaFrame.evaluate(context, new LambdaFrame(lambda.parameters(), new Object[1], lambda.capturedFrame()), node);
+    }
+}
@@ -0,0 +1,137 @@
+package dev.thihup.joel.impl.collection;
+
+import dev.thihup.joel.impl.node.AndNode;
+import dev.thihup.joel.impl.node.EqualNode;
+import dev.thihup.joel.impl.node.GreaterEqualNode;
+import dev.thihup.joel.impl.node.GreaterThanNode;
+import dev.thihup.joel.impl.node.LessEqualNode;
+import dev.thihup.joel.impl.node.LessThanNode;
+import dev.thihup.joel.impl.node.Node;
+import dev.thihup.joel.impl.node.NotEqualNode;
+import dev.thihup.joel.impl.node.OrNode;
+import dev.thihup.joel.impl.node.RelationalNode;
+import dev.thihup.joel.impl.node.UnaryNotNode;
+import dev.thihup.joel.impl.spi.QueryExpression;
+import dev.thihup.joel.impl.spi.QueryOperation;
+import dev.thihup.joel.impl.spi.QueryableSource;
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.LambdaExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Collects the EL stream operations a queryable source may run itself, and only pulls elements once another operation needs them.
+public final class QueryStream<E> extends DeferredStream<E> {
+    private final ELContext context;
+    private final QueryableSource<E> source;
+    private final List<QueryOperation> operations = new ArrayList<>();
+    private final List<Object[]> invocations = new ArrayList<>();
+
+    private QueryStream(ELContext context, QueryableSource<E> source) {
+        super(false);
+        this.context = context;
+        this.source = source;
+    }
+
+    public static <E> QueryStream<E> of(ELContext context, QueryableSource<E> source) {
+        return new QueryStream<>(context, source);
+    }
+
+    // Records filter, map, limit, sorted and sortedBy when their lambdas can be described to the source.
+    public boolean push(String method, Object[] params) {
+        if (isLinked())
+            return false;
+        QueryOperation operation = operation(method, params == null ? new Object[0] : params);
+        if (operation == null)
+            return false;
+        operations.add(operation);
+        invocations.add(new Object[]{method, params});
+        return true;
+    }
+
+    private QueryOperation operation(String method, Object[] params) {
+        if (method.equals("sorted") && params.length == 0)
+            return new QueryOperation.Sorted(null);
+        if (method.equals("limit") && params.length == 1 && params[0] instanceof Number maxSize)
+            return new QueryOperation.Limit(maxSize.longValue());
+        if (params.length != 1 || !(params[0] instanceof LambdaExpression lambda))
+            return null;
+        Node body = LambdaBodies.body(lambda);
+        if (body == null)
+            return null;
+        return switch (method) {
+            case "filter" -> {
+                QueryExpression predicate = predicate(lambda, body);
+                yield predicate == null ? null : new QueryOperation.Filter(predicate);
+            }
+            case "map" -> {
+                QueryExpression projection = operand(lambda, body);
+                yield projection == null ? null : new QueryOperation.Map(projection);
+            }
+            case "sortedBy" -> {
+                List<String> path = LambdaBodies.path(body);
+                yield path == null ? null : new QueryOperation.Sorted(new QueryExpression.Property(path));
+            }
+            default -> null;
+        };
+    }
+
+    private QueryExpression predicate(LambdaExpression lambda, Node node) {
+        if (node instanceof AndNode and) {
+            QueryExpression left = predicate(lambda, and.left());
+            QueryExpression right = left == null ? null : predicate(lambda, and.right());
+            return right == null ? null : new QueryExpression.And(left, right);
+        }
+        if (node instanceof OrNode or) {
+            QueryExpression left = predicate(lambda, or.left());
+            QueryExpression right = left == null ? null : predicate(lambda, or.right());
+            return right == null ? null : new QueryExpression.Or(left, right);
+        }
+        if (node instanceof UnaryNotNode not) {
+            QueryExpression operand = predicate(lambda, not.node());
+            return operand == null ? null : new QueryExpression.Not(operand);
+        }
+        QueryExpression.Operator operator;
+        if (node instanceof EqualNode) operator = QueryExpression.Operator.EQUAL;
+        else if (node instanceof NotEqualNode) operator = QueryExpression.Operator.NOT_EQUAL;
+        else if (node instanceof LessThanNode) operator = QueryExpression.Operator.LESS_THAN;
+        else if (node instanceof LessEqualNode) operator = QueryExpression.Operator.LESS_EQUAL;
+        else if (node instanceof GreaterThanNode) operator = QueryExpression.Operator.GREATER_THAN;
+        else if (node instanceof GreaterEqualNode) operator = QueryExpression.Operator.GREATER_EQUAL;
+        else return operand(lambda, node);
+
+        var relational = (RelationalNode) node;
+        QueryExpression left = operand(lambda, relational.left());
+        QueryExpression right = left == null ? null : operand(lambda, relational.right());
+        return right == null ? null : new QueryExpression.Comparison(operator, left, right);
+    }
+
+    private QueryExpression operand(LambdaExpression lambda, Node node) {
+        List<String> path = LambdaBodies.path(node);
+        if (path != null)
+            return new QueryExpression.Property(path);
+        if (LambdaBodies.isInvariant(node))
+            return new QueryExpression.Literal(LambdaBodies.evaluate(context, lambda, node));
+        return null;
+    }
+
+    // Offers the longest accepted prefix of the recorded operations to the source and replays the rest through the resolver.
+    @Override
+    @SuppressWarnings("unchecked")
+    Stream<E> open() {
+        int accepted = operations.size();
+        Stream<?> stream = null;
+        while (accepted > 0 && (stream = source.query(List.copyOf(operations.subList(0, accepted)))) == null) {
+            accepted--;
+        }
+        if (stream == null)
+            stream = source.stream();
+        ELResolver resolver = context.getELResolver();
+        for (Object[] invocation : invocations.subList(accepted, invocations.size())) {
+            stream = (Stream<?>) resolver.invoke(context, stream, invocation[0], null, (Object[]) invocation[1]);
+        }
+        return (Stream<E>) stream;
+    }
+}
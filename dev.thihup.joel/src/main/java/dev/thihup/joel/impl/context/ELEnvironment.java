@@ -0,0 +1,253 @@
+package dev.thihup.joel.impl.context;
+
+import jakarta.el.ArrayELResolver;
+import jakarta.el.BeanELResolver;
+import jakarta.el.BeanNameELResolver;
+import jakarta.el.BeanNameResolver;
+import jakarta.el.CompositeELResolver;
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ImportHandler;
+import jakarta.el.ListELResolver;
+import jakarta.el.MapELResolver;
+import jakarta.el.RecordELResolver;
+import jakarta.el.ResourceBundleELResolver;
+import jakarta.el.StaticFieldELResolver;
+import jakarta.el.ValueExpression;
+import jakarta.el.VariableMapper;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+// The shareable part of a StandardELContext: resolvers, functions, variables, imports and beans, frozen once built.
+public final class ELEnvironment {
+    private final ExpressionFactory expressionFactory;
+    private final ELResolver resolver;
+    private final FunctionMapper functionMapper;
+    private final VariableMapper variableMapper;
+    private final ImportHandler importHandler;
+    private final Locale locale;
+
+    private ELEnvironment(Builder builder) {
+        this.expressionFactory = builder.expressionFactory;
+        this.functionMapper = new FrozenFunctionMapper(builder.functions);
+        this.variableMapper = new FrozenVariableMapper(builder.variables);
+        this.importHandler = new FrozenImportHandler(builder.imports);
+        this.locale = builder.locale;
+
+        // Same order as StandardELContext.
+        var resolver = new CompositeELResolver();
+        resolver.add(new BeanNameELResolver(new FrozenBeans(builder.beans)));
+        builder.resolvers.forEach(resolver::add);
+        ELResolver streamResolver = expressionFactory.getStreamELResolver();
+        if (streamResolver != null)
+            resolver.add(streamResolver);
+        resolver.add(new StaticFieldELResolver());
+        resolver.add(new MapELResolver());
+        resolver.add(new ResourceBundleELResolver());
+        resolver.add(new ListELResolver());
+        resolver.add(new ArrayELResolver());
+        resolver.add(new RecordELResolver());
+        resolver.add(new BeanELResolver());
+        this.resolver = resolver;
+    }
+
+    public static Builder builder(ExpressionFactory expressionFactory) {
+        return new Builder(expressionFactory);
+    }
+
+    // A context holding only evaluation state; create one per thread or per evaluation.
+    public ELContext newContext() {
+        return new EnvironmentELContext(this);
+    }
+
+    public ExpressionFactory expressionFactory() {
+        return expressionFactory;
+    }
+
+    ELResolver resolver() {
+        return resolver;
+    }
+
+    FunctionMapper functionMapper() {
+        return functionMapper;
+    }
+
+    VariableMapper variableMapper() {
+        return variableMapper;
+    }
+
+    ImportHandler importHandler() {
+        return importHandler;
+    }
+
+    Locale locale() {
+        return locale;
+    }
+
+    public static final class Builder {
+        private final ExpressionFactory expressionFactory;
+        private final List<ELResolver> resolvers = new ArrayList<>();
+        private final Map<String, Method> functions = new HashMap<>();
+        private final Map<String, ValueExpression> variables = new HashMap<>();
+        private final Map<String, Object> beans = new HashMap<>();
+        // Checked against a scratch handler as they are added, and replayed into the frozen one.
+        private final ImportHandler importHandler = new ImportHandler();
+        private final List<Consumer<ImportHandler>> imports = new ArrayList<>();
+        private Locale locale;
+
+        private Builder(ExpressionFactory expressionFactory) {
+            this.expressionFactory = Objects.requireNonNull(expressionFactory);
+            Map<String, Method> initialFunctions = expressionFactory.getInitFunctionMap();
+            if (initialFunctions != null)
+                functions.putAll(initialFunctions);
+        }
+
+        // Resolvers must be safe to share between threads.
+        public Builder resolver(ELResolver resolver) {
+            resolvers.add(Objects.requireNonNull(resolver));
+            return this;
+        }
+
+        public Builder function(String prefix, String localName, Method method) {
+            functions.put(prefix + ":" + localName, Objects.requireNonNull(method));
+            return this;
+        }
+
+        public Builder variable(String name, ValueExpression expression) {
+            variables.put(Objects.requireNonNull(name), Objects.requireNonNull(expression));
+            return this;
+        }
+
+        public Builder bean(String name, Object bean) {
+            beans.put(Objects.requireNonNull(name), Objects.requireNonNull(bean));
+            return this;
+        }
+
+        public Builder importClass(String className) {
+            return addImport(handler -> handler.importClass(className));
+        }
+
+        public Builder importPackage(String packageName) {
+            return addImport(handler -> handler.importPackage(packageName));
+        }
+
+        public Builder importStatic(String name) {
+            return addImport(handler -> handler.importStatic(name));
+        }
+
+        private Builder addImport(Consumer<ImportHandler> addition) {
+            addition.accept(importHandler);
+            imports.add(addition);
+            return this;
+        }
+
+        public Builder locale(Locale locale) {
+            this.locale = Objects.requireNonNull(locale);
+            return this;
+        }
+
+        public ELEnvironment build() {
+            return new ELEnvironment(this);
+        }
+    }
+
+    private static final class FrozenFunctionMapper extends FunctionMapper {
+        private final Map<String, Method> functions;
+
+        private FrozenFunctionMapper(Map<String, Method> functions) {
+            this.functions = Map.copyOf(functions);
+        }
+
+        @Override
+        public Method resolveFunction(String prefix, String localName) {
+            return functions.get(prefix + ":" + localName);
+        }
+
+        @Override
+        public void mapFunction(String prefix, String localName, Method method) {
+            throw new UnsupportedOperationException("Cannot add functions to a frozen environment");
+        }
+    }
+
+    private static final class FrozenImportHandler extends ImportHandler {
+        private final boolean frozen;
+
+        private FrozenImportHandler(List<Consumer<ImportHandler>> imports) {
+            imports.forEach(addition -> addition.accept(this));
+            this.frozen = true;
+        }
+
+        @Override
+        public void importClass(String className) {
+            checkNotFrozen();
+            super.importClass(className);
+        }
+
+        @Override
+        public void importPackage(String packageName) {
+            checkNotFrozen();
+            super.importPackage(packageName);
+        }
+
+        @Override
+        public void importStatic(String name) {
+            checkNotFrozen();
+            super.importStatic(name);
+        }
+
+        private void checkNotFrozen() {
+            if (frozen)
+                throw new UnsupportedOperationException("Cannot add imports to a frozen environment");
+        }
+    }
+
+    private static final class FrozenVariableMapper extends VariableMapper {
+        private final Map<String, ValueExpression> variables;
+
+        private FrozenVariableMapper(Map<String, ValueExpression> variables) {
+            this.variables = Map.copyOf(variables);
+        }
+
+        @Override
+        public ValueExpression resolveVariable(String variable) {
+            return variables.get(variable);
+        }
+
+        @Override
+        public ValueExpression setVariable(String variable, ValueExpression expression) {
+            throw new UnsupportedOperationException("Cannot add variables to a frozen environment");
+        }
+    }
+
+    private static final class FrozenBeans extends BeanNameResolver {
+        private final Map<String, Object> beans;
+
+        private FrozenBeans(Map<String, Object> beans) {
+            this.beans = Map.copyOf(beans);
+        }
+
+        @Override
+        public boolean isNameResolved(String beanName) {
+            return beans.containsKey(beanName);
+        }
+
+        @Override
+        public Object getBean(String beanName) {
+            return beans.get(beanName);
+        }
+
+        @Override
+        public boolean isReadOnly(String beanName) {
+            return true;
+        }
+    }
+}
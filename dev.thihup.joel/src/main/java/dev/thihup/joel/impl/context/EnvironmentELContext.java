@@ -0,0 +1,46 @@
+package dev.thihup.joel.impl.context;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ImportHandler;
+import jakarta.el.VariableMapper;
+
+final class EnvironmentELContext extends ELContext {
+    private final ELEnvironment environment;
+
+    EnvironmentELContext(ELEnvironment environment) {
+        this.environment = environment;
+        if (environment.locale() != null)
+            setLocale(environment.locale());
+    }
+
+    @Override
+    public ELResolver getELResolver() {
+        return environment.resolver();
+    }
+
+    @Override
+    public FunctionMapper getFunctionMapper() {
+        return environment.functionMapper();
+    }
+
+    @Override
+    public VariableMapper getVariableMapper() {
+        return environment.variableMapper();
+    }
+
+    @Override
+    public ImportHandler getImportHandler() {
+        return environment.importHandler();
+    }
+
+    @Override
+    public Object getContext(Class<?> key) {
+        Object contextObject = super.getContext(key);
+        if (contextObject == null && key == ExpressionFactory.class)
+            return environment.expressionFactory();
+        return contextObject;
+    }
+}
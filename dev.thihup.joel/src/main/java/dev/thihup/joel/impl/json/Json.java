@@ -0,0 +1,23 @@
+package dev.thihup.joel.impl.json;
+
+import java.util.Objects;
+
+// Entry point for lazily read JSON: objects and arrays are views over the original text that decode only what is read.
+public final class Json {
+
+    private Json() {
+    }
+
+    public static Object parse(CharSequence text) {
+        return JsonSource.of(Objects.requireNonNull(text)).document();
+    }
+
+    public static Object parse(byte[] utf8) {
+        return parse(utf8, 0, utf8.length);
+    }
+
+    public static Object parse(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        return JsonSource.of(utf8, offset, length).document();
+    }
+}
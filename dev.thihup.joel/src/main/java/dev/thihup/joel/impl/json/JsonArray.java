@@ -0,0 +1,82 @@
+package dev.thihup.joel.impl.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+// A JSON array that scans its elements only as far as the requested index and remembers where every scanned element starts.
+public final class JsonArray extends AbstractList<Object> implements RandomAccess {
+    private static final Object NULL = new Object();
+
+    private final JsonSource source;
+    // Elements are Offset until read, then the decoded value (NULL for JSON null).
+    private Object[] elements = new Object[8];
+    private int count;
+    private int position;
+
+    JsonArray(JsonSource source, int start) {
+        this.source = source;
+        this.position = start + 1;
+    }
+
+    @Override
+    public synchronized Object get(int index) {
+        if (index < 0 || !scanTo(index))
+            throw new IndexOutOfBoundsException("Index %d out of bounds".formatted(index));
+        return read(index);
+    }
+
+    @Override
+    public synchronized int size() {
+        while (position >= 0) {
+            scan();
+        }
+        return count;
+    }
+
+    // Like get, but returns null past the end without scanning the rest of the array.
+    synchronized Object elementOrNull(int index) {
+        return index >= 0 && scanTo(index) ? read(index) : null;
+    }
+
+    private boolean scanTo(int index) {
+        while (count <= index && position >= 0) {
+            scan();
+        }
+        return index < count;
+    }
+
+    private Object read(int index) {
+        Object element = elements[index];
+        if (element instanceof Offset offset) {
+            Object value = source.value(offset.value());
+            elements[index] = value == null ? NULL : value;
+            return value;
+        }
+        return element == NULL ? null : element;
+    }
+
+    private void scan() {
+        int index = source.skipWhitespace(position);
+        int c = source.peek(index);
+        if (c == ']') {
+            position = -1;
+            return;
+        }
+        int value = index;
+        index = source.skipWhitespace(source.skipValue(value));
+        c = source.peek(index);
+        if (c == ',')
+            position = index + 1;
+        else if (c == ']')
+            position = -1;
+        else
+            throw source.malformed(index);
+        if (count == elements.length)
+            elements = Arrays.copyOf(elements, count * 2);
+        elements[count++] = new Offset(value);
+    }
+
+    private record Offset(int value) {
+    }
+}
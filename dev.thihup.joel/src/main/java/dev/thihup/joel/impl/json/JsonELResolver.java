@@ -0,0 +1,86 @@
+package dev.thihup.joel.impl.json;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.PropertyNotWritableException;
+
+import java.beans.FeatureDescriptor;
+import java.util.Iterator;
+import java.util.Objects;
+
+// Resolves members of JsonObject and elements of JsonArray; missing members and indexes resolve to null.
+public final class JsonELResolver extends ELResolver {
+
+    public JsonELResolver() {
+    }
+
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+        Objects.requireNonNull(context);
+        if (base instanceof JsonObject object) {
+            context.setPropertyResolved(base, property);
+            return property == null ? null : object.get(property.toString());
+        }
+        if (base instanceof JsonArray array) {
+            context.setPropertyResolved(base, property);
+            return array.elementOrNull(toIndex(property));
+        }
+        return null;
+    }
+
+    @Override
+    public Class<?> getType(ELContext context, Object base, Object property) {
+        Objects.requireNonNull(context);
+        if (base instanceof JsonObject || base instanceof JsonArray)
+            context.setPropertyResolved(base, property);
+        return null;
+    }
+
+    @Override
+    public void setValue(ELContext context, Object base, Object property, Object value) {
+        Objects.requireNonNull(context);
+        if (base instanceof JsonObject || base instanceof JsonArray) {
+            context.setPropertyResolved(base, property);
+            throw new PropertyNotWritableException("JSON values are read only");
+        }
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context, Object base, Object property) {
+        Objects.requireNonNull(context);
+        if (base instanceof JsonObject || base instanceof JsonArray) {
+            context.setPropertyResolved(base, property);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+        return null;
+    }
+
+    @Override
+    public Class<?> getCommonPropertyType(ELContext context, Object base) {
+        if (base instanceof JsonObject)
+            return String.class;
+        if (base instanceof JsonArray)
+            return Integer.class;
+        return null;
+    }
+
+    private static int toIndex(Object property) {
+        if (property instanceof Integer || property instanceof Short || property instanceof Byte)
+            return ((Number) property).intValue();
+        if (property instanceof Long value) {
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Index %d is out of the int range".formatted(value));
+            return value.intValue();
+        }
+        try {
+            return Integer.parseInt(String.valueOf(property));
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(exception);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package dev.thihup.joel.impl.json;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// A JSON object that scans its members only as far as the requested one and remembers where every scanned value starts.
+public final class JsonObject extends AbstractMap<String, Object> {
+    private static final Object NULL = new Object();
+
+    private final JsonSource source;
+    // Values are Offset until read, then the decoded value (NULL for JSON null).
+    private final Map<String, Object> members = new LinkedHashMap<>();
+    private int position;
+
+    JsonObject(JsonSource source, int start) {
+        this.source = source;
+        this.position = start + 1;
+    }
+
+    @Override
+    public synchronized Object get(Object name) {
+        Object member = find(name);
+        return member == null ? null : read((String) name, member);
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object name) {
+        return find(name) != null;
+    }
+
+    @Override
+    public synchronized int size() {
+        scanAll();
+        return members.size();
+    }
+
+    @Override
+    public synchronized Set<Entry<String, Object>> entrySet() {
+        scanAll();
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (var entry : members.entrySet()) {
+            entries.put(entry.getKey(), read(entry.getKey(), entry.getValue()));
+        }
+        return Collections.unmodifiableMap(entries).entrySet();
+    }
+
+    private Object find(Object name) {
+        Object member = members.get(name);
+        while (member == null && position >= 0) {
+            String key = scan();
+            if (key != null && key.equals(name))
+                member = members.get(key);
+        }
+        return member;
+    }
+
+    private Object read(String name, Object member) {
+        if (member instanceof Offset offset) {
+            Object value = source.value(offset.value());
+            members.put(name, value == null ? NULL : value);
+            return value;
+        }
+        return member == NULL ? null : member;
+    }
+
+    private void scanAll() {
+        while (position >= 0) {
+            scan();
+        }
+    }
+
+    // Scans the next member; duplicate names keep their first value.
+    private String scan() {
+        int index = source.skipWhitespace(position);
+        int c = source.peek(index);
+        if (c == '}') {
+            position = -1;
+            return null;
+        }
+        if (c != '"')
+            throw source.malformed(index);
+        String name = source.string(index);
+        index = source.skipWhitespace(source.skipString(index));
+        if (source.peek(index) != ':')
+            throw source.malformed(index);
+        int value = source.skipWhitespace(index + 1);
+        index = source.skipWhitespace(source.skipValue(value));
+        c = source.peek(index);
+        if (c == ',')
+            position = index + 1;
+        else if (c == '}')
+            position = -1;
+        else
+            throw source.malformed(index);
+        members.putIfAbsent(name, new Offset(value));
+        return name;
+    }
+
+    private record Offset(int value) {
+    }
+}
@@ -0,0 +1,212 @@
+package dev.thihup.joel.impl.json;
+
+import jakarta.el.ELException;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+// JSON text as characters or UTF-8 bytes; structural characters are ASCII, so both are scanned the same way.
+abstract class JsonSource {
+
+    static JsonSource of(CharSequence text) {
+        return new Text(text);
+    }
+
+    static JsonSource of(byte[] bytes, int offset, int length) {
+        return new Bytes(bytes, offset, length);
+    }
+
+    abstract int length();
+
+    abstract int at(int index);
+
+    // The raw text between two offsets, without escape processing.
+    abstract String text(int start, int end);
+
+    int peek(int index) {
+        return index < length() ? at(index) : -1;
+    }
+
+    int skipWhitespace(int index) {
+        while (index < length()) {
+            int c = at(index);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+                break;
+            index++;
+        }
+        return index;
+    }
+
+    int skipString(int index) {
+        for (int i = index + 1; i < length(); i++) {
+            int c = at(i);
+            if (c == '\\')
+                i++;
+            else if (c == '"')
+                return i + 1;
+        }
+        throw malformed(index);
+    }
+
+    // Returns the offset just after the value starting at index, without decoding it.
+    int skipValue(int index) {
+        int c = peek(index);
+        if (c == '"')
+            return skipString(index);
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            for (int i = index; i < length(); i++) {
+                c = at(i);
+                if (c == '"')
+                    i = skipString(i) - 1;
+                else if (c == '{' || c == '[')
+                    depth++;
+                else if ((c == '}' || c == ']') && --depth == 0)
+                    return i + 1;
+            }
+            throw malformed(index);
+        }
+        int end = index;
+        while (end < length() && (c = at(end)) != ',' && c != '}' && c != ']' && c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+            end++;
+        }
+        if (end == index)
+            throw malformed(index);
+        return end;
+    }
+
+    String string(int index) {
+        int end = skipString(index) - 1;
+        int start = index + 1;
+        int escape = start;
+        while (escape < end && at(escape) != '\\') {
+            escape++;
+        }
+        if (escape == end)
+            return text(start, end);
+        StringBuilder builder = new StringBuilder(end - start);
+        int segment = start;
+        for (int i = escape; i < end; i++) {
+            if (at(i) != '\\')
+                continue;
+            builder.append(text(segment, i));
+            switch (at(++i)) {
+                case '"' -> builder.append('"');
+                case '\\' -> builder.append('\\');
+                case '/' -> builder.append('/');
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (i + 5 > end)
+                        throw malformed(i);
+                    try {
+                        builder.append((char) Integer.parseInt(text(i + 1, i + 5), 16));
+                    } catch (NumberFormatException exception) {
+                        throw malformed(i);
+                    }
+                    i += 4;
+                }
+                default -> throw malformed(i);
+            }
+            segment = i + 1;
+        }
+        return builder.append(text(segment, end)).toString();
+    }
+
+    // The value making up the whole text; only its extent is scanned, its contents are still decoded when read.
+    Object document() {
+        int start = skipWhitespace(0);
+        int end = skipWhitespace(skipValue(start));
+        if (end != length())
+            throw malformed(end);
+        return value(start);
+    }
+
+    Object value(int index) {
+        index = skipWhitespace(index);
+        int c = peek(index);
+        if (c == '{')
+            return new JsonObject(this, index);
+        if (c == '[')
+            return new JsonArray(this, index);
+        if (c == '"')
+            return string(index);
+        String literal = text(index, skipValue(index));
+        if (literal.equals("true"))
+            return Boolean.TRUE;
+        if (literal.equals("false"))
+            return Boolean.FALSE;
+        if (literal.equals("null"))
+            return null;
+        if (c != '-' && (c < '0' || c > '9'))
+            throw malformed(index);
+        try {
+            if (literal.indexOf('.') >= 0 || literal.indexOf('e') >= 0 || literal.indexOf('E') >= 0)
+                return Double.parseDouble(literal);
+            try {
+                return Long.parseLong(literal);
+            } catch (NumberFormatException exception) {
+                return new BigInteger(literal);
+            }
+        } catch (NumberFormatException exception) {
+            throw malformed(index);
+        }
+    }
+
+    ELException malformed(int index) {
+        return new ELException("Malformed JSON at offset %d".formatted(index));
+    }
+
+    private static final class Text extends JsonSource {
+        private final CharSequence text;
+
+        private Text(CharSequence text) {
+            this.text = text;
+        }
+
+        @Override
+        int length() {
+            return text.length();
+        }
+
+        @Override
+        int at(int index) {
+            return text.charAt(index);
+        }
+
+        @Override
+        String text(int start, int end) {
+            return text.subSequence(start, end).toString();
+        }
+    }
+
+    private static final class Bytes extends JsonSource {
+        private final byte[] bytes;
+        private final int offset;
+        private final int length;
+
+        private Bytes(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        int at(int index) {
+            return bytes[offset + index] & 0xFF;
+        }
+
+        @Override
+        String text(int start, int end) {
+            return new String(bytes, offset + start, end - start, StandardCharsets.UTF_8);
+        }
+    }
+}
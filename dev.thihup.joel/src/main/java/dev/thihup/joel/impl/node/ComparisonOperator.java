@@ -0,0 +1,37 @@
+package dev.thihup.joel.impl.node;
+
+// The outcome of a relational node for the result of comparing its operands, shared by the primitive kernels.
+public enum ComparisonOperator {
+    LESS_THAN, LESS_EQUAL, GREATER_THAN, GREATER_EQUAL, EQUAL, NOT_EQUAL;
+
+    public static ComparisonOperator of(Node node) {
+        if (node instanceof LessThanNode) return LESS_THAN;
+        if (node instanceof LessEqualNode) return LESS_EQUAL;
+        if (node instanceof GreaterThanNode) return GREATER_THAN;
+        if (node instanceof GreaterEqualNode) return GREATER_EQUAL;
+        if (node instanceof EqualNode) return EQUAL;
+        if (node instanceof NotEqualNode) return NOT_EQUAL;
+        return null;
+    }
+
+    public ComparisonOperator flip() {
+        return switch (this) {
+            case LESS_THAN -> GREATER_THAN;
+            case LESS_EQUAL -> GREATER_EQUAL;
+            case GREATER_THAN -> LESS_THAN;
+            case GREATER_EQUAL -> LESS_EQUAL;
+            default -> this;
+        };
+    }
+
+    public boolean test(int comparison) {
+        return switch (this) {
+            case LESS_THAN -> comparison < 0;
+            case LESS_EQUAL -> comparison <= 0;
+            case GREATER_THAN -> comparison > 0;
+            case GREATER_EQUAL -> comparison >= 0;
+            case EQUAL -> comparison == 0;
+            case NOT_EQUAL -> comparison != 0;
+        };
+    }
+}
@@ -1,10 +1,16 @@
 package dev.thihup.joel.impl.node;
 
+import dev.thihup.joel.impl.LambdaFrame;
 import jakarta.el.ELClass;
 import jakarta.el.ELContext;
 import jakarta.el.PropertyNotFoundException;
 
-public record IdentifierNode(String value) implements Node {
+public record IdentifierNode(String value, int depth, int slot) implements Node {
+
+    public IdentifierNode(String value) {
+        this(value, -1, -1);
+    }
+
     @Override
     public Class<?> getType(ELContext context) {
         var variableMapper = context.getVariableMapper();
@@ -27,6 +33,11 @@ public record IdentifierNode(String value) implements Node {
 
     @Override
     public Object getValue(ELContext context) {
+        if (depth >= 0) {
+            var frame = LambdaFrame.current(context);
+            if (frame != null && (frame = frame.enclosing(depth)) != null)
+                return frame.value(slot);
+        }
         if (context.isLambdaArgument(value))
             return context.getLambdaArgument(value);
         var variableMapper = context.getVariableMapper();
@@ -1,19 +1,109 @@
 package dev.thihup.joel.impl.node;
 
+import dev.thihup.joel.impl.JoelLambdaExpression;
 import dev.thihup.joel.impl.JoelValueExpression;
+import dev.thihup.joel.impl.LambdaFrame;
 import jakarta.el.ELContext;
-import jakarta.el.LambdaExpression;
 
+import java.io.Serial;
 import java.util.List;
+import java.util.Objects;
+
+public final class LambdaNode implements Node {
+    @Serial
+    private static final long serialVersionUID = 0L;
+    @SuppressWarnings("serial")
+    private final List<String> parameters;
+    @SuppressWarnings("serial")
+    private final Node expression;
+    private final transient JoelValueExpression body;
+
+    public LambdaNode(List<String> parameters, Node expression) {
+        this.parameters = parameters;
+        this.expression = expression;
+        this.body = JoelValueExpression.newInstance(expression.prettyPrint(), expression, Object.class);
+    }
 
-public record LambdaNode(List<String> parameters, Node expression) implements Node {
     @Override
     public Object getValue(ELContext context) {
-        return new LambdaExpression(parameters, JoelValueExpression.newInstance(expression.prettyPrint(), expression, Object.class));
+        return new JoelLambdaExpression(parameters, body, LambdaFrame.current(context));
     }
 
     @Override
     public String prettyPrint() {
         return "(%s) -> %s".formatted(String.join(",", parameters), expression.prettyPrint());
     }
+
+    public List<String> parameters() {
+        return parameters;
+    }
+
+    public Node expression() {
+        return expression;
+    }
+
+    JoelValueExpression body() {
+        return body;
+    }
+
+    // Whether evaluating the node can create a lambda, which would capture the frame it is evaluated in.
+    public static boolean occursIn(Node node) {
+        if (node instanceof LambdaNode)
+            return true;
+        if (node instanceof InfixExpressionNode infix)
+            return occursIn(infix.left()) || occursIn(infix.right());
+        if (node instanceof RelationalNode relational)
+            return occursIn(relational.left()) || occursIn(relational.right());
+        if (node instanceof SemicolonNode semicolon)
+            return occursIn(semicolon.left()) || occursIn(semicolon.right());
+        if (node instanceof MemberNode member)
+            return occursIn(member.object()) || occursIn(member.property());
+        if (node instanceof TernaryNode ternary)
+            return occursIn(ternary.condition()) || occursIn(ternary.trueExpression()) || occursIn(ternary.falseExpression());
+        if (node instanceof CallExpressionNode call)
+            return occursIn(call.callee()) || call.arguments().stream().anyMatch(LambdaNode::occursIn);
+        if (node instanceof StreamPipelineNode pipeline)
+            return occursIn(pipeline.call());
+        if (node instanceof ListNode list)
+            return list.values().stream().anyMatch(LambdaNode::occursIn);
+        if (node instanceof SetNode set)
+            return set.values().stream().anyMatch(LambdaNode::occursIn);
+        if (node instanceof DeferredExpressionNode deferred)
+            return occursIn(deferred.node());
+        if (node instanceof DynamicExpressionNode dynamic)
+            return occursIn(dynamic.node());
+        if (node instanceof UnaryEmptyNode empty)
+            return occursIn(empty.node());
+        if (node instanceof UnaryMinusNode minus)
+            return occursIn(minus.node());
+        if (node instanceof UnaryNotNode not)
+            return occursIn(not.node());
+        return false;
+    }
+
+    @Serial
+    private Object readResolve() {
+        return new LambdaNode(parameters, expression);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (obj == null || obj.getClass() != this.getClass()) return false;
+        var that = (LambdaNode) obj;
+        return Objects.equals(this.parameters, that.parameters) &&
+                Objects.equals(this.expression, that.expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(parameters, expression);
+    }
+
+    @Override
+    public String toString() {
+        return "LambdaNode[" +
+                "parameters=" + parameters + ", " +
+                "expression=" + expression + ']';
+    }
 }
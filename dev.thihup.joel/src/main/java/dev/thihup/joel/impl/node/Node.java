@@ -19,6 +19,7 @@ public sealed interface Node extends Serializable
         SemicolonNode,
         SetNode,
         StringNode,
+        StreamPipelineNode,
         TernaryNode,
         UnaryEmptyNode,
         UnaryMinusNode,
@@ -0,0 +1,59 @@
+package dev.thihup.joel.impl.node;
+
+final class NumericComparison {
+    private final ComparisonOperator operator;
+    private final boolean floating;
+    private final long longConstant;
+    private final double doubleConstant;
+
+    private NumericComparison(ComparisonOperator operator, Number constant) {
+        this.operator = operator;
+        this.floating = constant instanceof Double;
+        this.longConstant = constant.longValue();
+        this.doubleConstant = constant.doubleValue();
+    }
+
+    // Recognises lambdas of the form x -> x < 10 (or 10 > x) whose constant is a Long or Double literal.
+    static NumericComparison of(Node argument) {
+        if (!(argument instanceof LambdaNode lambda) || lambda.parameters().size() != 1)
+            return null;
+        ComparisonOperator operator = ComparisonOperator.of(lambda.expression());
+        if (operator == null)
+            return null;
+
+        var relational = (RelationalNode) lambda.expression();
+        Number constant;
+        if (isParameter(relational.left()) && (constant = constant(relational.right())) != null)
+            return new NumericComparison(operator, constant);
+        if (isParameter(relational.right()) && (constant = constant(relational.left())) != null)
+            return new NumericComparison(operator.flip(), constant);
+        return null;
+    }
+
+    private static boolean isParameter(Node node) {
+        return node instanceof IdentifierNode identifier && identifier.depth() == 0 && identifier.slot() == 0;
+    }
+
+    private static Number constant(Node node) {
+        if (node instanceof NumberNode number && (number.value() instanceof Long || number.value() instanceof Double))
+            return number.value();
+        if (node instanceof UnaryMinusNode minus) {
+            Number number = constant(minus.node());
+            if (number instanceof Long value)
+                return -value;
+            if (number != null)
+                return -number.doubleValue();
+        }
+        return null;
+    }
+
+    boolean test(long value) {
+        if (floating)
+            return operator.test(Double.compare(value, doubleConstant));
+        return operator.test(Long.compare(value, longConstant));
+    }
+
+    boolean test(double value) {
+        return operator.test(Double.compare(value, doubleConstant));
+    }
+}
@@ -0,0 +1,448 @@
+package dev.thihup.joel.impl.node;
+
+import dev.thihup.joel.impl.LambdaFrame;
+import dev.thihup.joel.impl.NumberAccumulator;
+import dev.thihup.joel.impl.StreamELResolver;
+import dev.thihup.joel.impl.spi.QueryableSource;
+import jakarta.el.BeanELResolver;
+import jakarta.el.CompositeELResolver;
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.ELResolver;
+import jakarta.el.ListELResolver;
+import jakarta.el.internal.ResolverChains;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public final class StreamPipelineNode implements Node {
+    @Serial
+    private static final long serialVersionUID = 0L;
+
+    @SuppressWarnings("serial")
+    private final Node source;
+    @SuppressWarnings("serial")
+    private final List<Stage> stages;
+    @SuppressWarnings("serial")
+    private final Stage terminal;
+    private final CallExpressionNode call;
+
+    private StreamPipelineNode(Node source, List<Stage> stages, Stage terminal, CallExpressionNode call) {
+        this.source = source;
+        this.stages = stages;
+        this.terminal = terminal;
+        this.call = call;
+    }
+
+    CallExpressionNode call() {
+        return call;
+    }
+
+    public static Node fuse(CallExpressionNode call) {
+        if (!(call.callee() instanceof MemberNode terminalMember) || !(terminalMember.property() instanceof IdentifierNode terminalName))
+            return call;
+        Stage terminal = switch (terminalName.value()) {
+            case "toList", "count", "sum", "average", "min", "max" -> call.arguments().isEmpty() ? new Stage(terminalName.value(), null) : null;
+            case "anyMatch" -> isUnaryLambda(call.arguments()) ? new Stage("anyMatch", call.arguments().get(0)) : null;
+            default -> null;
+        };
+        if (terminal == null)
+            return call;
+
+        List<Stage> stages = new ArrayList<>();
+        Node current = terminalMember.object();
+        while (current instanceof CallExpressionNode stageCall
+                && stageCall.callee() instanceof MemberNode member
+                && member.property() instanceof IdentifierNode name) {
+            List<? extends Node> arguments = stageCall.arguments();
+            switch (name.value()) {
+                case "stream" -> {
+                    if (!arguments.isEmpty())
+                        return call;
+                    Collections.reverse(stages);
+                    return new StreamPipelineNode(member.object(), List.copyOf(stages), terminal, call);
+                }
+                case "filter", "map" -> {
+                    if (!isUnaryLambda(arguments))
+                        return call;
+                    stages.add(new Stage(name.value(), arguments.get(0)));
+                }
+                case "limit" -> {
+                    if (arguments.size() != 1)
+                        return call;
+                    stages.add(new Stage("limit", arguments.get(0)));
+                }
+                default -> {
+                    return call;
+                }
+            }
+            current = member.object();
+        }
+        return call;
+    }
+
+    private static boolean isUnaryLambda(List<? extends Node> arguments) {
+        return arguments.size() == 1 && arguments.get(0) instanceof LambdaNode lambda && lambda.parameters().size() == 1;
+    }
+
+    @Override
+    public Object getValue(ELContext context) {
+        Object base = source.getValue(context);
+        if (!isFusible(context, base))
+            return invokeStages(context, base);
+        if (base instanceof Collection<?> collection)
+            return evaluate(context, collection.iterator());
+        return evaluateArray(context, base);
+    }
+
+    // The fused loop skips the resolver chain, so it only runs where the chain would hand every call to the built-in
+    // resolvers and nobody listens for the resolved properties.
+    private static boolean isFusible(ELContext context, Object base) {
+        boolean array = base instanceof int[] || base instanceof long[] || base instanceof double[];
+        if (!array && (!(base instanceof Collection<?>) || base instanceof QueryableSource<?> || OVERRIDES_STREAM.get(base.getClass())))
+            return false;
+        if (!context.getEvaluationListeners().isEmpty() || !(context.getELResolver() instanceof CompositeELResolver resolver))
+            return false;
+        List<ELResolver> streamResolvers = ResolverChains.consulted(resolver, Stream.class);
+        if (streamResolvers.isEmpty() || streamResolvers.get(0).getClass() != StreamELResolver.class)
+            return false;
+        // Arrays are streamed by the stream resolver, collections by the bean resolver calling Collection.stream().
+        for (ELResolver candidate : ResolverChains.consulted(resolver, base.getClass())) {
+            if (candidate.getClass() == StreamELResolver.class) {
+                if (array)
+                    return true;
+            } else if (candidate.getClass() != ListELResolver.class) {
+                return !array && candidate.getClass() == BeanELResolver.class;
+            }
+        }
+        return false;
+    }
+
+    // Collection.stream() is called through the bean resolver; only the JDK's own implementations are assumed to keep its meaning.
+    private static final ClassValue<Boolean> OVERRIDES_STREAM = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                Class<?> declaringClass = type.getMethod("stream").getDeclaringClass();
+                return declaringClass != Collection.class && declaringClass.getModule() != Collection.class.getModule();
+            } catch (NoSuchMethodException exception) {
+                return true;
+            }
+        }
+    };
+
+    private Object evaluate(ELContext context, Iterator<?> elements) {
+        Step[] steps = steps(context, 0);
+        Reduction reduction = new Reduction(context, terminal, null);
+        while (elements.hasNext()) {
+            if (!push(context, steps, elements.next(), reduction))
+                break;
+        }
+        return reduction.result();
+    }
+
+    // Leading comparison filters and limits run on the primitive values; the rest of the pipeline sees boxed elements.
+    private Object evaluateArray(ELContext context, Object base) {
+        int[] ints = base instanceof int[] array ? array : null;
+        long[] longs = base instanceof long[] array ? array : null;
+        double[] doubles = base instanceof double[] array ? array : null;
+        int length = ints != null ? ints.length : longs != null ? longs.length : doubles.length;
+
+        int prefix = 0;
+        NumericComparison[] filters = new NumericComparison[stages.size()];
+        long[] remaining = new long[stages.size()];
+        for (; prefix < stages.size(); prefix++) {
+            Stage stage = stages.get(prefix);
+            if (stage.operation().equals("limit"))
+                remaining[prefix] = maxSize(context, stage);
+            else if (!stage.operation().equals("filter") || (filters[prefix] = NumericComparison.of(stage.argument())) == null)
+                break;
+        }
+        Step[] steps = steps(context, prefix);
+        Class<?> elementType = ints != null ? int.class : longs != null ? long.class : double.class;
+        Reduction reduction = new Reduction(context, terminal, steps.length == 0 ? elementType : null);
+
+        elements:
+        for (int i = 0; i < length; i++) {
+            long longValue = ints != null ? ints[i] : longs != null ? longs[i] : 0;
+            double doubleValue = doubles != null ? doubles[i] : 0;
+            boolean exhausted = false;
+            for (int stage = 0; stage < prefix; stage++) {
+                NumericComparison filter = filters[stage];
+                if (filter == null) {
+                    if (remaining[stage] <= 0)
+                        break elements;
+                    if (--remaining[stage] == 0)
+                        exhausted = true;
+                } else if (!(doubles != null ? filter.test(doubleValue) : filter.test(longValue))) {
+                    if (exhausted)
+                        break elements;
+                    continue elements;
+                }
+            }
+            boolean more;
+            if (steps.length == 0)
+                more = doubles != null ? reduction.accept(context, doubleValue) : reduction.accept(context, longValue);
+            else
+                more = push(context, steps, doubles != null ? (Object) doubleValue : reduction.box(elementType, longValue), reduction);
+            if (!more || exhausted)
+                break;
+        }
+        return reduction.result();
+    }
+
+    // Rejected the way Stream.limit rejects it when called through the stream resolver.
+    private static long maxSize(ELContext context, Stage stage) {
+        long maxSize = (Long) context.convertToType(stage.argument().getValue(context), Long.class);
+        if (maxSize < 0)
+            throw new ELException(new IllegalArgumentException(Long.toString(maxSize)));
+        return maxSize;
+    }
+
+    private Step[] steps(ELContext context, int from) {
+        Step[] steps = new Step[stages.size() - from];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = Step.of(context, stages.get(from + i));
+        }
+        return steps;
+    }
+
+    // Runs one element through the stages; returns false once no further element can change the result.
+    private static boolean push(ELContext context, Step[] steps, Object value, Reduction reduction) {
+        boolean exhausted = false;
+        for (Step step : steps) {
+            switch (step.kind) {
+                case FILTER -> {
+                    if (!step.test(context, value))
+                        return !exhausted;
+                }
+                case MAP -> value = step.apply(context, value);
+                case LIMIT -> {
+                    if (step.remaining <= 0)
+                        return false;
+                    if (--step.remaining == 0)
+                        exhausted = true;
+                }
+            }
+        }
+        return reduction.accept(context, value) && !exhausted;
+    }
+
+    private Object invokeStages(ELContext context, Object base) {
+        var resolver = context.getELResolver();
+        Object value = resolver.invoke(context, base, "stream", null, new Object[0]);
+        for (Stage stage : stages) {
+            value = resolver.invoke(context, value, stage.operation(), null, new Object[]{stage.argument().getValue(context)});
+        }
+        Object[] terminalArguments = terminal.argument() == null ? new Object[0] : new Object[]{terminal.argument().getValue(context)};
+        return resolver.invoke(context, value, terminal.operation(), null, terminalArguments);
+    }
+
+    @Override
+    public String prettyPrint() {
+        return call.prettyPrint();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (obj == null || obj.getClass() != this.getClass()) return false;
+        var that = (StreamPipelineNode) obj;
+        return Objects.equals(this.call, that.call);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(call);
+    }
+
+    @Override
+    public String toString() {
+        return "StreamPipelineNode[" +
+                "source=" + source + ", " +
+                "stages=" + stages + ", " +
+                "terminal=" + terminal + ']';
+    }
+
+    private record Stage(String operation, Node argument) implements Serializable {
+    }
+
+    private enum Kind {FILTER, MAP, LIMIT}
+
+    private static final class Reduction {
+        private final String operation;
+        private final Step predicate;
+        private final Class<?> elementType;
+        private final List<Object> list;
+        private final NumberAccumulator accumulator;
+        private long count;
+        private boolean found;
+        private Object best;
+        private long bestLong;
+        private double bestDouble;
+
+        private Reduction(ELContext context, Stage terminal, Class<?> elementType) {
+            this.operation = terminal.operation();
+            this.predicate = terminal.argument() == null ? null : Step.of(context, terminal);
+            this.elementType = elementType;
+            this.list = operation.equals("toList") ? new ArrayList<>() : null;
+            this.accumulator = operation.equals("sum") || operation.equals("average") ? new NumberAccumulator(context) : null;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private boolean accept(ELContext context, Object value) {
+            switch (operation) {
+                case "toList" -> list.add(value);
+                case "sum", "average" -> accumulator.add(value);
+                case "min", "max" -> {
+                    // Fails like Stream.min and Stream.max with the natural order would.
+                    int comparison;
+                    try {
+                        comparison = found ? ((Comparable) Objects.requireNonNull(value)).compareTo(best) : 0;
+                    } catch (ClassCastException | NullPointerException exception) {
+                        throw new ELException(exception);
+                    }
+                    if (!found || (operation.equals("min") ? comparison < 0 : comparison > 0))
+                        best = value;
+                    found = true;
+                }
+                case "anyMatch" -> {
+                    if (predicate.test(context, value)) {
+                        found = true;
+                        return false;
+                    }
+                }
+                default -> count++;
+            }
+            return true;
+        }
+
+        private boolean accept(ELContext context, long value) {
+            switch (operation) {
+                case "sum", "average" -> accumulator.add(value);
+                case "min" -> {
+                    bestLong = !found || value < bestLong ? value : bestLong;
+                    found = true;
+                }
+                case "max" -> {
+                    bestLong = !found || value > bestLong ? value : bestLong;
+                    found = true;
+                }
+                case "count" -> count++;
+                default -> {
+                    if (predicate != null && predicate.kernel != null) {
+                        if (predicate.kernel.test(value)) {
+                            found = true;
+                            return false;
+                        }
+                        return true;
+                    }
+                    return accept(context, box(elementType, value));
+                }
+            }
+            return true;
+        }
+
+        private boolean accept(ELContext context, double value) {
+            switch (operation) {
+                case "sum", "average" -> accumulator.add(value);
+                case "min" -> {
+                    bestDouble = !found || Double.compare(value, bestDouble) < 0 ? value : bestDouble;
+                    found = true;
+                }
+                case "max" -> {
+                    bestDouble = !found || Double.compare(value, bestDouble) > 0 ? value : bestDouble;
+                    found = true;
+                }
+                case "count" -> count++;
+                default -> {
+                    if (predicate != null && predicate.kernel != null) {
+                        if (predicate.kernel.test(value)) {
+                            found = true;
+                            return false;
+                        }
+                        return true;
+                    }
+                    return accept(context, (Object) value);
+                }
+            }
+            return true;
+        }
+
+        private Object box(Class<?> type, long value) {
+            return type == int.class ? (Object) (int) value : (Object) value;
+        }
+
+        private Object result() {
+            return switch (operation) {
+                case "toList" -> Collections.unmodifiableList(list);
+                case "sum" -> accumulator.sum();
+                case "average" -> accumulator.average();
+                case "min", "max" -> !found ? Optional.empty()
+                        : elementType == null ? Optional.of(best)
+                        : elementType == double.class ? Optional.of(bestDouble) : Optional.of(box(elementType, bestLong));
+                case "anyMatch" -> found;
+                default -> count;
+            };
+        }
+    }
+
+    private static final class Step {
+        private final Kind kind;
+        private final LambdaNode lambda;
+        private final LambdaFrame parent;
+        private final Object[] arguments;
+        private final LambdaFrame reusableFrame;
+        private final NumericComparison kernel;
+        private long remaining;
+
+        private Step(Kind kind, LambdaNode lambda, LambdaFrame parent, long remaining) {
+            this.kind = kind;
+            this.lambda = lambda;
+            this.parent = parent;
+            this.remaining = remaining;
+            // A frame can only be reused when no lambda created by the body can capture it.
+            boolean reusable = lambda != null && !LambdaNode.occursIn(lambda.expression());
+            this.arguments = reusable ? new Object[1] : null;
+            this.reusableFrame = reusable ? new LambdaFrame(lambda.parameters(), arguments, parent) : null;
+            this.kernel = kind == Kind.FILTER ? NumericComparison.of(lambda) : null;
+        }
+
+        private static Step of(ELContext context, Stage stage) {
+            return switch (stage.operation()) {
+                case "limit" -> new Step(Kind.LIMIT, null, null, maxSize(context, stage));
+                case "map" -> new Step(Kind.MAP, (LambdaNode) stage.argument(), LambdaFrame.current(context), 0);
+                default -> new Step(Kind.FILTER, (LambdaNode) stage.argument(), LambdaFrame.current(context), 0);
+            };
+        }
+
+        private Object apply(ELContext context, Object value) {
+            LambdaFrame frame;
+            if (reusableFrame != null) {
+                arguments[0] = value;
+                frame = reusableFrame;
+            } else {
+                frame = new LambdaFrame(lambda.parameters(), new Object[]{value}, parent);
+            }
+            return LambdaFrame.evaluate(context, frame, lambda.body());
+        }
+
+        private boolean test(ELContext context, Object value) {
+            if (kernel != null) {
+                if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+                    return kernel.test(((Number) value).longValue());
+                if (value instanceof Double || value instanceof Float)
+                    return kernel.test(((Number) value).doubleValue());
+            }
+            return (Boolean) context.convertToType(apply(context, value), boolean.class);
+        }
+    }
+}
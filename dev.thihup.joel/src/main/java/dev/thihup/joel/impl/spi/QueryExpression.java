@@ -0,0 +1,33 @@
+package dev.thihup.joel.impl.spi;
+
+import java.util.List;
+
+public sealed interface QueryExpression {
+
+    enum Operator {
+        EQUAL, NOT_EQUAL, LESS_THAN, LESS_EQUAL, GREATER_THAN, GREATER_EQUAL
+    }
+
+    // A property path from the stream element; an empty path is the element itself.
+    record Property(List<String> path) implements QueryExpression {
+        public Property {
+            path = List.copyOf(path);
+        }
+    }
+
+    // A value that does not depend on the element, already evaluated.
+    record Literal(Object value) implements QueryExpression {
+    }
+
+    record Comparison(Operator operator, QueryExpression left, QueryExpression right) implements QueryExpression {
+    }
+
+    record And(QueryExpression left, QueryExpression right) implements QueryExpression {
+    }
+
+    record Or(QueryExpression left, QueryExpression right) implements QueryExpression {
+    }
+
+    record Not(QueryExpression operand) implements QueryExpression {
+    }
+}
@@ -0,0 +1,17 @@
+package dev.thihup.joel.impl.spi;
+
+public sealed interface QueryOperation {
+
+    record Filter(QueryExpression predicate) implements QueryOperation {
+    }
+
+    record Map(QueryExpression projection) implements QueryOperation {
+    }
+
+    record Limit(long maxSize) implements QueryOperation {
+    }
+
+    // A null key sorts by the natural order of the elements.
+    record Sorted(QueryExpression key) implements QueryOperation {
+    }
+}
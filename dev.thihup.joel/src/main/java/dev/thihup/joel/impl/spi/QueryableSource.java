@@ -0,0 +1,13 @@
+package dev.thihup.joel.impl.spi;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface QueryableSource<E> {
+
+    // Runs the leading stream operations of an EL pipeline, or returns null to reject them.
+    // A rejected pipeline is offered again without its last operation; the rest runs in memory over the returned stream.
+    Stream<?> query(List<QueryOperation> operations);
+
+    Stream<E> stream();
+}
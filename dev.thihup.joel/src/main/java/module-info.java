@@ -2,6 +2,11 @@ import dev.thihup.joel.impl.spi.JoelExpressionFactory;
 
 @SuppressWarnings("requires-automatic")
 module dev.thihup.joel {
+    exports dev.thihup.joel.impl.batch;
+    exports dev.thihup.joel.impl.binary;
+    exports dev.thihup.joel.impl.collection;
+    exports dev.thihup.joel.impl.context;
+    exports dev.thihup.joel.impl.json;
     exports dev.thihup.joel.impl.spi;
     requires transitive jakarta.el;
 
@@ -0,0 +1,56 @@
+package dev.thihup.joel.impl;
+
+import dev.thihup.joel.impl.spi.JoelExpressionFactory;
+import jakarta.el.ELContext;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.LambdaExpression;
+import jakarta.el.StandardELContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelELContextTest {
+
+    private final ExpressionFactory factory = new JoelExpressionFactory();
+    private final StandardELContext context = new StandardELContext(factory);
+
+    @Test
+    void forksDoNotShareTheParentListCursor() throws Exception {
+        var list = new LinkedList<>(IntStream.range(0, 20_000).boxed().toList());
+        context.getVariableMapper().setVariable("list", factory.createValueExpression(list, List.class));
+        assertEquals(0, factory.createValueExpression(context, "${list[0]}", Object.class).getValue(context));
+        var read = (LambdaExpression) factory.createValueExpression(context, "${i -> list[i + 0]}", Object.class).getValue(context);
+
+        ELContext parallel = ParallelELContext.of(context);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            var start = new CountDownLatch(4);
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int task = 0; task < 4; task++) {
+                tasks.add(executor.submit(() -> {
+                    ELContext fork = ParallelELContext.forCurrentThread(parallel);
+                    start.countDown();
+                    start.await();
+                    for (int i = 0; i < list.size(); i++) {
+                        assertEquals(i, read.invoke(fork, (long) i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
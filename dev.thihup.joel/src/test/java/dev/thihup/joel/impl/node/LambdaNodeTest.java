@@ -0,0 +1,39 @@
+package dev.thihup.joel.impl.node;
+
+import dev.thihup.joel.impl.JoelValueExpression;
+import dev.thihup.joel.impl.spi.JoelExpressionFactory;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.StandardELContext;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LambdaNodeTest {
+
+    private final ExpressionFactory factory = new JoelExpressionFactory();
+    private final StandardELContext context = new StandardELContext(factory);
+
+    private Node node(String expression) {
+        return ((JoelValueExpression) factory.createValueExpression(context, expression, Object.class)).node();
+    }
+
+    @Test
+    void findsLambdasAnywhereInTheTree() {
+        assertTrue(occursIn("${x -> x}"));
+        assertTrue(occursIn("${a ? b : [1, x -> x]}"));
+        assertTrue(occursIn("${list.stream().map(x -> x + 1).toList()}"));
+        assertTrue(occursIn("${!empty f(y -> y)}"));
+    }
+
+    @Test
+    void ignoresArrowsInsideStrings() {
+        assertFalse(occursIn("${'a->b'}"));
+        assertFalse(occursIn("${row.name += ' -> '}"));
+        assertFalse(occursIn("${a.b(c, -d)}"));
+    }
+
+    private boolean occursIn(String expression) {
+        return LambdaNode.occursIn(node(expression));
+    }
+}
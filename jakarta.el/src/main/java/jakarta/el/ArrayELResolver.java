@@ -1,7 +1,9 @@
 package jakarta.el;
 
 import java.beans.FeatureDescriptor;
-import java.lang.reflect.Array;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Iterator;
 import java.util.Objects;
 
@@ -28,6 +30,16 @@ import java.util.Objects;
  * @since Jakarta Server Pages 2.1
  */
 public class ArrayELResolver extends ELResolver {
+    private static final ClassValue<ArrayAccess> ARRAY_ACCESS = new ClassValue<>() {
+        @Override
+        protected ArrayAccess computeValue(Class<?> type) {
+            return new ArrayAccess(
+                    MethodHandles.arrayElementGetter(type).asType(MethodType.methodType(Object.class, Object.class, int.class)),
+                    MethodHandles.arrayElementSetter(type).asType(MethodType.methodType(void.class, Object.class, int.class, Object.class)),
+                    MethodHandles.arrayLength(type).asType(MethodType.methodType(int.class, Object.class)));
+        }
+    };
+
     private final boolean readyOnly;
 
     /**
@@ -118,10 +130,15 @@ public class ArrayELResolver extends ELResolver {
         if (!base.getClass().isArray())
             return null;
         context.setPropertyResolved(base, property);
-        checkBounds(Array.getLength(base), toInt(property));
+        checkBounds(length(base), toInt(property));
         return base.getClass().getComponentType();
     }
 
+    @Override
+    boolean mayResolve(Class<?> baseType) {
+        return getClass() != ArrayELResolver.class || baseType != null && baseType.isArray();
+    }
+
     /**
      * If the base object is a Java language array, returns the value at the given index. The index is specified by the
      * <code>property</code> argument, and coerced into an integer. If the coercion could not be performed, an
@@ -152,9 +169,16 @@ public class ArrayELResolver extends ELResolver {
             return null;
         int index = toInt(property);
         context.setPropertyResolved(base, property);
-        if (index < 0 || index >= Array.getLength(base))
-            return null;
-        return Array.get(base, index);
+        ArrayAccess access = ARRAY_ACCESS.get(base.getClass());
+        try {
+            if (index < 0 || index >= (int) access.length().invokeExact(base))
+                return null;
+            return (Object) access.getter().invokeExact(base, index);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ELException(e);
+        }
     }
 
     /**
@@ -191,7 +215,7 @@ public class ArrayELResolver extends ELResolver {
         if (!base.getClass().isArray())
             return false;
         context.setPropertyResolved(base, property);
-        checkBounds(Array.getLength(base), toInt(property));
+        checkBounds(length(base), toInt(property));
         return readyOnly;
     }
 
@@ -236,10 +260,27 @@ public class ArrayELResolver extends ELResolver {
         if (readyOnly) {
             throw new PropertyNotWritableException();
         }
-        checkBounds(Array.getLength(base), toInt(property));
+        int index = toInt(property);
+        checkBounds(length(base), index);
         if (!base.getClass().getComponentType().isAssignableFrom(value.getClass()))
             throw new ClassCastException("Cannot cast %s to %s".formatted(value.getClass(), base.getClass().getComponentType()));
-        Array.set(base, toInt(property), value);
+        try {
+            ARRAY_ACCESS.get(base.getClass()).setter().invokeExact(base, index, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ELException(e);
+        }
+    }
+
+    private static int length(Object array) {
+        try {
+            return (int) ARRAY_ACCESS.get(array.getClass()).length().invokeExact(array);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ELException(e);
+        }
     }
 
     private void checkBounds(int length, int index) {
@@ -248,6 +289,13 @@ public class ArrayELResolver extends ELResolver {
     }
 
     private int toInt(Object property) {
+        if (property instanceof Integer || property instanceof Short || property instanceof Byte)
+            return ((Number) property).intValue();
+        if (property instanceof Long longValue) {
+            if (longValue < Integer.MIN_VALUE || longValue > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Index %d is out of the int range".formatted(longValue));
+            return longValue.intValue();
+        }
         try {
             return Integer.parseInt(property.toString());
         } catch (NumberFormatException exception) {
@@ -255,4 +303,7 @@ public class ArrayELResolver extends ELResolver {
         }
     }
 
+    private record ArrayAccess(MethodHandle getter, MethodHandle setter, MethodHandle length) {
+    }
+
 }
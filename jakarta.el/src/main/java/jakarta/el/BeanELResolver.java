@@ -207,6 +207,11 @@ public class BeanELResolver extends ELResolver {
         }
     }
 
+    @Override
+    boolean mayResolve(Class<?> baseType) {
+        return getClass() != BeanELResolver.class || baseType != null;
+    }
+
     /**
      * If the base object is not <code>null</code>, returns the current value of the given property on this bean.
      *
@@ -102,6 +102,11 @@ public class BeanNameELResolver extends ELResolver {
         return bean.getClass();
     }
 
+    @Override
+    boolean mayResolve(Class<?> baseType) {
+        return getClass() != BeanNameELResolver.class || baseType == null;
+    }
+
     /**
      * If the base object is <code>null</code> and the property is a name that is resolvable by the BeanNameResolver,
      * returns the value resolved by the BeanNameResolver.
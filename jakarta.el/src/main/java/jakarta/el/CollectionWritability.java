@@ -0,0 +1,67 @@
+package jakarta.el;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Classifies <code>List</code> and <code>Map</code> implementations as writable or read-only by their runtime type,
+ * without ever invoking a method on the instance. The classification is computed once per implementation class.
+ *
+ * <p>
+ * The known read-only types are taken from prototype instances of the JDK immutable collections and unmodifiable
+ * wrappers. Any other type is assumed to be writable.
+ * </p>
+ */
+final class CollectionWritability {
+
+    private static final Set<Class<?>> KNOWN_READ_ONLY_TYPES = knownReadOnlyTypes();
+
+    private static final ClassValue<Boolean> READ_ONLY_TYPES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return KNOWN_READ_ONLY_TYPES.contains(type);
+        }
+    };
+
+    private CollectionWritability() {
+    }
+
+    static boolean isReadOnly(Object base) {
+        return READ_ONLY_TYPES.get(base.getClass());
+    }
+
+    private static Set<Class<?>> knownReadOnlyTypes() {
+        List<Object> prototypes = List.of(
+                List.of(),
+                List.of(1),
+                List.of(1, 2, 3),
+                List.of(1, 2, 3).subList(0, 1),
+                Collections.unmodifiableList(new ArrayList<>()),
+                Collections.unmodifiableList(new LinkedList<>()),
+                Collections.emptyList(),
+                Collections.singletonList(1),
+                Collections.nCopies(1, 1),
+                Map.of(),
+                Map.of(1, 1),
+                Map.of(1, 1, 2, 2),
+                Collections.unmodifiableMap(new HashMap<>()),
+                Collections.unmodifiableSortedMap(new TreeMap<>()),
+                Collections.unmodifiableNavigableMap(new TreeMap<>()),
+                Collections.emptyMap(),
+                Collections.emptySortedMap(),
+                Collections.emptyNavigableMap(),
+                Collections.singletonMap(1, 1));
+        Set<Class<?>> types = new HashSet<>();
+        for (Object prototype : prototypes) {
+            types.add(prototype.getClass());
+        }
+        return Set.copyOf(types);
+    }
+}
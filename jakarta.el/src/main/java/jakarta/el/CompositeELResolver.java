@@ -1,12 +1,20 @@
 package jakarta.el;
 
+import jakarta.el.internal.ResolverChains;
+
 import java.beans.FeatureDescriptor;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.StreamSupport;
 
@@ -30,7 +38,9 @@ import java.util.stream.StreamSupport;
  *
  * <p>
  * The <code>CompositeELResolver</code> initializes the <code>ELContext.propertyResolved</code> flag to
- * <code>false</code>, and uses it as a stop condition for iterating through its component resolvers.
+ * <code>false</code>, and uses it as a stop condition for iterating through its component resolvers. The standard
+ * resolvers of this package are skipped for bases they never handle; which resolvers remain is worked out once per base
+ * class.
  * </p>
  *
  * <p>
@@ -45,8 +55,18 @@ import java.util.stream.StreamSupport;
  */
 public class CompositeELResolver extends ELResolver {
 
+    private static final ELResolver[] NO_RESOLVERS = new ELResolver[0];
+
+    static {
+        ResolverChains.install(CompositeELResolver::consulted);
+    }
+
     private final List<ELResolver> resolvers = new ArrayList<>();
 
+    // Candidates for a base class, in the order the resolvers were added; dropped whenever a resolver is added.
+    private volatile CandidateCache candidates;
+    private volatile ELResolver[] topLevelCandidates;
+
     public CompositeELResolver() {
     }
 
@@ -62,6 +82,8 @@ public class CompositeELResolver extends ELResolver {
      */
     public void add(ELResolver elResolver) {
         resolvers.add(Objects.requireNonNull(elResolver));
+        candidates = null;
+        topLevelCandidates = null;
     }
 
     /**
@@ -174,7 +196,7 @@ public class CompositeELResolver extends ELResolver {
     public Class<?> getType(ELContext context, Object base, Object property) {
         Objects.requireNonNull(context);
         context.setPropertyResolved(false);
-        for (ELResolver resolver : resolvers) {
+        for (ELResolver resolver : candidates(base)) {
             Class<?> type = resolver.getType(context, base, property);
             if (context.isPropertyResolved()) {
                 return type;
@@ -229,7 +251,7 @@ public class CompositeELResolver extends ELResolver {
     public Object getValue(ELContext context, Object base, Object property) {
         Objects.requireNonNull(context);
         context.setPropertyResolved(false);
-        for (ELResolver resolver : resolvers) {
+        for (ELResolver resolver : candidates(base)) {
             Object value = resolver.getValue(context, base, property);
             if (context.isPropertyResolved()) {
                 return value;
@@ -289,7 +311,7 @@ public class CompositeELResolver extends ELResolver {
     public boolean isReadOnly(ELContext context, Object base, Object property) {
         Objects.requireNonNull(context);
         context.setPropertyResolved(false);
-        for (ELResolver resolver : resolvers) {
+        for (ELResolver resolver : candidates(base)) {
             boolean readOnly = resolver.isReadOnly(context, base, property);
             if (context.isPropertyResolved()) {
                 return readOnly;
@@ -343,7 +365,7 @@ public class CompositeELResolver extends ELResolver {
     public void setValue(ELContext context, Object base, Object property, Object value) {
         Objects.requireNonNull(context);
         context.setPropertyResolved(false);
-        for (ELResolver resolver : resolvers) {
+        for (ELResolver resolver : candidates(base)) {
             resolver.setValue(context, base, property, value);
             if (context.isPropertyResolved())
                 return;
@@ -431,4 +453,98 @@ public class CompositeELResolver extends ELResolver {
         }
         return null;
     }
+
+    // Reached by the implementation through ResolverChains, so that it does not become part of the API.
+    private List<ELResolver> consulted(Class<?> baseType) {
+        List<ELResolver> consulted = new ArrayList<>();
+        for (ELResolver resolver : candidates(baseType)) {
+            if (resolver.getClass() == CompositeELResolver.class)
+                consulted.addAll(((CompositeELResolver) resolver).consulted(baseType));
+            else
+                consulted.add(resolver);
+        }
+        return Collections.unmodifiableList(consulted);
+    }
+
+    private ELResolver[] candidates(Object base) {
+        return candidates(base == null ? null : base.getClass());
+    }
+
+    private ELResolver[] candidates(Class<?> baseType) {
+        if (baseType != null) {
+            CandidateCache byClass = candidates;
+            if (byClass == null)
+                candidates = byClass = new CandidateCache();
+            ELResolver[] filtered = byClass.get(baseType);
+            if (filtered == null)
+                byClass.put(baseType, filtered = filter(baseType));
+            return filtered;
+        }
+        ELResolver[] topLevel = topLevelCandidates;
+        if (topLevel == null)
+            topLevelCandidates = topLevel = filter(null);
+        return topLevel;
+    }
+
+    private ELResolver[] filter(Class<?> baseType) {
+        List<ELResolver> filtered = new ArrayList<>(resolvers.size());
+        for (ELResolver resolver : resolvers) {
+            if (resolver.mayResolve(baseType))
+                filtered.add(resolver);
+        }
+        return filtered.toArray(NO_RESOLVERS);
+    }
+
+    // Keyed weakly, so that a long-lived chain does not keep every base class it has seen, and its loader, reachable.
+    private static final class CandidateCache {
+        private final Map<Object, ELResolver[]> byClass = new ConcurrentHashMap<>();
+        private final ReferenceQueue<Class<?>> cleared = new ReferenceQueue<>();
+
+        private ELResolver[] get(Class<?> baseType) {
+            return byClass.get(new ClassKey(baseType));
+        }
+
+        private void put(Class<?> baseType, ELResolver[] filtered) {
+            for (Reference<?> reference; (reference = cleared.poll()) != null; ) {
+                byClass.remove(reference);
+            }
+            byClass.put(new WeakClassKey(baseType, cleared), filtered);
+        }
+    }
+
+    private record ClassKey(Class<?> type) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof WeakClassKey weakKey ? weakKey.get() == type
+                    : obj instanceof ClassKey key && key.type == type;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(type);
+        }
+    }
+
+    private static final class WeakClassKey extends WeakReference<Class<?>> {
+        private final int hash;
+
+        private WeakClassKey(Class<?> type, ReferenceQueue<Class<?>> queue) {
+            super(type, queue);
+            this.hash = System.identityHashCode(type);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this)
+                return true;
+            Class<?> type = get();
+            return type != null && (obj instanceof WeakClassKey weakKey ? weakKey.get() == type
+                    : obj instanceof ClassKey key && key.type() == type);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
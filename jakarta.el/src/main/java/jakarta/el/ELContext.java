@@ -61,10 +61,11 @@ import java.util.Objects;
  */
 public abstract class ELContext {
 
-    private final List<EvaluationListener> listeners = new ArrayList<>();
-    private final Map<Class<?>, Object> contexts = new HashMap<>();
-    private final Deque<Map<String, Object>> lambdaArguments = new ArrayDeque<>();
-    private final ImportHandler importHandler = new ImportHandler();
+    // Allocated on first use, so that contexts created per evaluation stay small.
+    private List<EvaluationListener> listeners;
+    private Map<Class<?>, Object> contexts;
+    private Deque<Map<String, Object>> lambdaArguments;
+    private ImportHandler importHandler;
     private Locale locale = Locale.getDefault();
     private boolean propertyResolved;
 
@@ -78,6 +79,8 @@ public abstract class ELContext {
      * @since Jakarta Expression Language 3.0
      */
     public void addEvaluationListener(EvaluationListener listener) {
+        if (listeners == null)
+            listeners = new ArrayList<>();
         listeners.add(listener);
     }
 
@@ -118,6 +121,8 @@ public abstract class ELContext {
      * @since Jakarta Expression Language 3.0
      */
     public void enterLambdaScope(Map<String, Object> arguments) {
+        if (lambdaArguments == null)
+            lambdaArguments = new ArrayDeque<>();
         lambdaArguments.addLast(arguments);
     }
 
@@ -150,7 +155,7 @@ public abstract class ELContext {
      */
     public Object getContext(Class<?> key) {
         Objects.requireNonNull(key);
-        return contexts.get(key);
+        return contexts == null ? null : contexts.get(key);
     }
 
     /**
@@ -160,7 +165,7 @@ public abstract class ELContext {
      * @since Jakarta Expression Language 3.0
      */
     public List<EvaluationListener> getEvaluationListeners() {
-        return Collections.unmodifiableList(listeners);
+        return listeners == null ? List.of() : Collections.unmodifiableList(listeners);
     }
 
     /**
@@ -170,6 +175,8 @@ public abstract class ELContext {
      * @since Jakarta Expression Language 3.0
      */
     public ImportHandler getImportHandler() {
+        if (importHandler == null)
+            importHandler = new ImportHandler();
         return importHandler;
     }
 
@@ -183,11 +190,15 @@ public abstract class ELContext {
      * @since Jakarta Expression Language 3.0
      */
     public Object getLambdaArgument(String argument) {
-        return lambdaArguments.stream()
-                .map(x -> x.get(argument))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
+        if (lambdaArguments == null)
+            return null;
+        var scopes = lambdaArguments.descendingIterator();
+        while (scopes.hasNext()) {
+            var arguments = scopes.next();
+            if (arguments.containsKey(argument))
+                return arguments.get(argument);
+        }
+        return null;
     }
 
     /**
@@ -222,7 +233,14 @@ public abstract class ELContext {
      * @return true if arg is a LambdaArgument, false otherwise.
      */
     public boolean isLambdaArgument(String argument) {
-        return lambdaArguments.stream().anyMatch(x -> x.containsKey(argument));
+        if (lambdaArguments == null)
+            return false;
+        var scopes = lambdaArguments.descendingIterator();
+        while (scopes.hasNext()) {
+            if (scopes.next().containsKey(argument))
+                return true;
+        }
+        return false;
     }
 
     /**
@@ -261,7 +279,11 @@ public abstract class ELContext {
      * @param expression The Jakarta Expression Language expression string that has been evaluated
      */
     public void notifyAfterEvaluation(String expression) {
-        listeners.forEach(e -> e.afterEvaluation(this, expression));
+        if (listeners == null)
+            return;
+        for (EvaluationListener listener : listeners) {
+            listener.afterEvaluation(this, expression);
+        }
     }
 
     /**
@@ -270,7 +292,11 @@ public abstract class ELContext {
      * @param expression The Jakarta Expression Language expression string to be evaluated
      */
     public void notifyBeforeEvaluation(String expression) {
-        listeners.forEach(e -> e.beforeEvaluation(this, expression));
+        if (listeners == null)
+            return;
+        for (EvaluationListener listener : listeners) {
+            listener.beforeEvaluation(this, expression);
+        }
     }
 
     /**
@@ -280,7 +306,11 @@ public abstract class ELContext {
      * @param property The property Object
      */
     public void notifyPropertyResolved(Object base, Object property) {
-        listeners.forEach(e -> e.propertyResolved(this, base, property));
+        if (listeners == null)
+            return;
+        for (EvaluationListener listener : listeners) {
+            listener.propertyResolved(this, base, property);
+        }
     }
 
     /**
@@ -304,6 +334,8 @@ public abstract class ELContext {
     public void putContext(Class<?> key, Object contextObject) {
         Objects.requireNonNull(key);
         Objects.requireNonNull(contextObject);
+        if (contexts == null)
+            contexts = new HashMap<>();
         contexts.put(key, contextObject);
     }
 
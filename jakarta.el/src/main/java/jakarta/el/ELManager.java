@@ -12,6 +12,8 @@ public class ELManager {
 
     private static final ExpressionFactory FACTORY = ExpressionFactory.newInstance();
     private StandardELContext context = new StandardELContext(FACTORY);
+    // Counts the changes that can affect how an expression is parsed, so that ELProcessor knows when to reparse.
+    private int parseVersion;
 
     public ELManager() {
     }
@@ -86,6 +88,7 @@ public class ELManager {
      */
     public void importClass(String className) {
         context.getImportHandler().importClass(className);
+        parseVersion++;
     }
 
     /**
@@ -96,6 +99,7 @@ public class ELManager {
      */
     public void importPackage(String packageName) {
         context.getImportHandler().importPackage(packageName);
+        parseVersion++;
     }
 
     /**
@@ -107,6 +111,7 @@ public class ELManager {
      */
     public void importStatic(String staticMemberName) {
         context.getImportHandler().importStatic(staticMemberName);
+        parseVersion++;
     }
 
     /**
@@ -118,6 +123,7 @@ public class ELManager {
      */
     public void mapFunction(String prefix, String function, Method method) {
         context.getFunctionMapper().mapFunction(prefix, function, method);
+        parseVersion++;
     }
 
     /**
@@ -129,6 +135,7 @@ public class ELManager {
      */
     public ELContext setELContext(ELContext context) {
         this.context = new StandardELContext(context);
+        parseVersion++;
         return null;
     }
 
@@ -141,6 +148,10 @@ public class ELManager {
      */
     public void setVariable(String variable, ValueExpression expression) {
         context.getVariableMapper().setVariable(variable, expression);
+        parseVersion++;
     }
 
+    int parseVersion() {
+        return parseVersion;
+    }
 }
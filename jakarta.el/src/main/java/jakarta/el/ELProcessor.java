@@ -1,6 +1,8 @@
 package jakarta.el;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -41,6 +43,14 @@ import java.util.Objects;
  * bracketed. This reduces the visual cluster, without any lost of functionalities (thanks to the addition of the
  * concatenation operator).
  *
+ * <h3>Caching of Parsed Expressions</h3>
+ * <p>
+ * The expressions passed to {@link ELProcessor#getValue}, {@link ELProcessor#setValue} and {@link ELProcessor#eval} are
+ * parsed once per expected type and reused. Functions, variables and imports defined through this processor or its
+ * {@link ELManager} cause them to be parsed again. Changes made directly to the function mapper, variable mapper or
+ * import handler of the <code>ELContext</code> do not.
+ * </p>
+ *
  * <h3>Example</h3> The following code snippet illustrates the use of ELProcessor to define a bean and evaluate its
  * property. <blockquote>
  *
@@ -56,7 +66,14 @@ import java.util.Objects;
  */
 public class ELProcessor {
 
+    private static final int MAXIMUM_CACHED_EXPRESSIONS = 1024;
+
     private final ELManager manager = new ELManager();
+    // Parsed expressions by expected type and unbracketed expression string, valid until the ELManager changes.
+    private final Map<Class<?>, Map<String, ValueExpression>> expressions = new HashMap<>();
+    private ELContext cachedContext;
+    private int cachedVersion;
+    private ExpressionFactory factory;
 
     public ELProcessor() {
     }
@@ -145,12 +162,8 @@ public class ELProcessor {
      * @return The result of the expression evaluation.
      */
     public Object getValue(String expression, Class<?> expectedType) {
-        ExpressionFactory factory = (ExpressionFactory) manager.getELContext().getContext(ExpressionFactory.class);
-        if (factory == null) {
-            factory = ExpressionFactory.newInstance();
-            manager.getELContext().putContext(ExpressionFactory.class, factory);
-        }
-        return factory.createValueExpression(manager.getELContext(), "${" + expression + "}", expectedType).getValue(manager.getELContext());
+        ELContext context = manager.getELContext();
+        return valueExpression(context, expression, expectedType).getValue(context);
     }
 
     /**
@@ -167,12 +180,8 @@ public class ELProcessor {
      *                                      must be included as the cause property of this exception, if available.
      */
     public void setValue(String expression, Object value) {
-        ExpressionFactory factory = (ExpressionFactory) manager.getELContext().getContext(ExpressionFactory.class);
-        if (factory == null) {
-            factory = ExpressionFactory.newInstance();
-            manager.getELContext().putContext(ExpressionFactory.class, factory);
-        }
-        factory.createValueExpression(manager.getELContext(), "${" + expression + "}", Object.class).setValue(manager.getELContext(), value);
+        ELContext context = manager.getELContext();
+        valueExpression(context, expression, Object.class).setValue(context, value);
     }
 
     /**
@@ -185,7 +194,39 @@ public class ELProcessor {
      * @param expression The Jakarta Expression Language expression to be assigned to the variable.
      */
     public void setVariable(String variable, String expression) {
-        ExpressionFactory factory = (ExpressionFactory) manager.getELContext().getContext(ExpressionFactory.class);
-        manager.setVariable(variable, factory.createValueExpression(manager.getELContext(), expression, Object.class));
+        ELContext context = manager.getELContext();
+        manager.setVariable(variable, expression == null ? null : factory(context).createValueExpression(context, "${" + expression + "}", Object.class));
+    }
+
+    private ValueExpression valueExpression(ELContext context, String expression, Class<?> expectedType) {
+        if (context != cachedContext || manager.parseVersion() != cachedVersion) {
+            expressions.clear();
+            factory = null;
+            cachedContext = context;
+            cachedVersion = manager.parseVersion();
+        }
+        Map<String, ValueExpression> byExpression = expressions.computeIfAbsent(expectedType, type -> new HashMap<>());
+        ValueExpression valueExpression = byExpression.get(expression);
+        if (valueExpression == null) {
+            valueExpression = factory(context).createValueExpression(context, "${" + expression + "}", expectedType);
+            // Scripts that build expression strings dynamically would otherwise grow the cache without bound.
+            if (byExpression.size() >= MAXIMUM_CACHED_EXPRESSIONS)
+                byExpression.clear();
+            byExpression.put(expression, valueExpression);
+        }
+        return valueExpression;
+    }
+
+    private ExpressionFactory factory(ELContext context) {
+        if (factory != null && context == cachedContext)
+            return factory;
+        ExpressionFactory contextFactory = (ExpressionFactory) context.getContext(ExpressionFactory.class);
+        if (contextFactory == null) {
+            contextFactory = ExpressionFactory.newInstance();
+            context.putContext(ExpressionFactory.class, contextFactory);
+        }
+        if (context == cachedContext)
+            factory = contextFactory;
+        return contextFactory;
     }
 }
@@ -308,4 +308,15 @@ public abstract class ELResolver {
      */
     public abstract void setValue(ELContext context, Object base, Object property, Object value);
 
+    /**
+     * Tells whether this resolver could ever resolve a property of a base of the given type. The standard resolvers
+     * narrow this down so that {@link CompositeELResolver} can skip them for bases they never handle; any other resolver
+     * is always consulted.
+     *
+     * @param baseType The class of the base object, or <code>null</code> for a top-level variable.
+     * @return <code>false</code> only if this resolver never resolves properties of such a base.
+     */
+    boolean mayResolve(Class<?> baseType) {
+        return true;
+    }
 }
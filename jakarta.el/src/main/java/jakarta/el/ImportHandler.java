@@ -1,20 +1,33 @@
 package jakarta.el;
 
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Handles imports of class names and package names. An imported package name implicitly imports all the classes in the
  * package. A class that has been imported can be used without its package name. The name is resolved to its full
  * (package and class) name at evaluation time.
+ *
+ * <p>
+ * Resolved names, and names that could not be resolved, are cached per handler and per context class loader of the
+ * resolving thread. The caches are discarded whenever an import is added. Neither the class loaders nor the classes
+ * they define are kept reachable by the caches. As a name that could not be resolved is remembered as such, a class
+ * defined later by the same class loader is only found after an import is added to the handler.
  */
 public class ImportHandler {
 
-    private final Set<String> packages = new HashSet<>();
+    private static final Class<?> NOT_FOUND = Unresolved.class;
+
+    private final Set<String> packages = new LinkedHashSet<>();
     private final Map<String, String> staticImports = new HashMap<>();
+    private final Map<ClassLoader, ResolutionCache> caches = new WeakHashMap<>();
+    private volatile LastResolution last;
 
     public ImportHandler() {
         packages.add("java.lang");
@@ -32,6 +45,7 @@ public class ImportHandler {
             throw new ELException("Not fully qualified classname: %s".formatted(className));
         }
         packages.add(className.substring(0, index));
+        clearCaches();
     }
 
     /**
@@ -44,6 +58,7 @@ public class ImportHandler {
             throw new ELException("Package must have a dot: %s".formatted(packageName));
         }
         packages.add(packageName);
+        clearCaches();
     }
 
     /**
@@ -58,6 +73,7 @@ public class ImportHandler {
             throw new ELException("Not fully qualified classname: %s".formatted(name));
         }
         staticImports.putIfAbsent(name.substring(index + 1), name.substring(0, index));
+        clearCaches();
     }
 
     /**
@@ -69,11 +85,20 @@ public class ImportHandler {
      * @throws ELException if the class is abstract or is an interface, or not public.
      */
     public Class<?> resolveClass(String className) {
-        return packages.stream()
-                .map(x -> loadClass(x + "." + className))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
+        var resolutionCache = cache();
+        Class<?> resolved = get(resolutionCache.classes(), className);
+        if (resolved == null) {
+            resolved = NOT_FOUND;
+            for (String packageName : packages) {
+                Class<?> loaded = loadClass(resolutionCache.loader(), packageName + "." + className);
+                if (loaded != null) {
+                    resolved = loaded;
+                    break;
+                }
+            }
+            resolutionCache.classes().put(className, new WeakReference<>(resolved));
+        }
+        return resolved == NOT_FOUND ? null : resolved;
     }
 
     /**
@@ -89,15 +114,71 @@ public class ImportHandler {
         if (s == null) {
             return null;
         }
-        return loadClass(s);
+        var resolutionCache = cache();
+        Class<?> resolved = get(resolutionCache.statics(), name);
+        if (resolved == null) {
+            Class<?> loaded = loadClass(resolutionCache.loader(), s);
+            resolved = loaded == null ? NOT_FOUND : loaded;
+            resolutionCache.statics().put(name, new WeakReference<>(resolved));
+        }
+        return resolved == NOT_FOUND ? null : resolved;
+    }
+
+    private Resolution cache() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null)
+            loader = ImportHandler.class.getClassLoader();
+        LastResolution current = last;
+        if (current != null && current.loader().get() == loader)
+            return new Resolution(loader, current.cache());
+        ResolutionCache resolutionCache;
+        synchronized (caches) {
+            resolutionCache = caches.computeIfAbsent(loader,
+                    key -> new ResolutionCache(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()));
+            last = new LastResolution(new WeakReference<>(loader), resolutionCache);
+        }
+        return new Resolution(loader, resolutionCache);
+    }
+
+    private void clearCaches() {
+        synchronized (caches) {
+            caches.clear();
+            last = null;
+        }
+    }
+
+    private static Class<?> get(ConcurrentMap<String, WeakReference<Class<?>>> cache, String name) {
+        WeakReference<Class<?>> reference = cache.get(name);
+        return reference == null ? null : reference.get();
     }
 
-    private Class<?> loadClass(String className) {
+    private static Class<?> loadClass(ClassLoader loader, String className) {
         try {
-            return Thread.currentThread().getContextClassLoader().loadClass(className);
+            return loader.loadClass(className);
         } catch (ClassNotFoundException e) {
             return null;
         }
     }
 
+    // Values are weak so that classes defined by a loader do not keep its cache entry alive.
+    private record ResolutionCache(ConcurrentMap<String, WeakReference<Class<?>>> classes,
+                                   ConcurrentMap<String, WeakReference<Class<?>>> statics) {
+    }
+
+    private record LastResolution(WeakReference<ClassLoader> loader, ResolutionCache cache) {
+    }
+
+    private record Resolution(ClassLoader loader, ResolutionCache cache) {
+        ConcurrentMap<String, WeakReference<Class<?>>> classes() {
+            return cache.classes();
+        }
+
+        ConcurrentMap<String, WeakReference<Class<?>>> statics() {
+            return cache.statics();
+        }
+    }
+
+    private static final class Unresolved {
+    }
+
 }
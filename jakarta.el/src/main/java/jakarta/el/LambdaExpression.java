@@ -1,10 +1,10 @@
 package jakarta.el;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.IntStream;
 
 /**
  * Encapsulates a parameterized {@link ValueExpression}.
@@ -44,9 +44,13 @@ public class LambdaExpression {
      * @param expression       The <code>ValueExpression</code> representing the body.
      */
     public LambdaExpression(List<String> formalParameters, ValueExpression expression) {
+        this(formalParameters, expression, LambdaScope.EMPTY);
+    }
+
+    private LambdaExpression(List<String> formalParameters, ValueExpression expression, Map<String, Object> outerLambdaArguments) {
         this.formalParameters = formalParameters;
         this.expression = expression;
-        this.outerLambdaArguments = new HashMap<>();
+        this.outerLambdaArguments = outerLambdaArguments;
     }
 
     /**
@@ -76,22 +80,30 @@ public class LambdaExpression {
         if (arguments.length < formalParameters.size())
             throw new ELException("Not enough arguments provided");
 
-        Map<String, Object> collect = IntStream.range(0, formalParameters.size())
-                .collect(() -> new HashMap<>(outerLambdaArguments),
-                        (map, value) -> map.put(formalParameters.get(value), arguments[value]),
-                        HashMap::putAll);
-
+        var scope = new LambdaScope(formalParameters, arguments, outerLambdaArguments);
         try {
-            elContext.enterLambdaScope(collect);
+            elContext.enterLambdaScope(scope);
             Object value = expression.getValue(elContext);
-            if (value instanceof LambdaExpression lambdaExpression)
-                lambdaExpression.outerLambdaArguments.putAll(collect);
+            if (value instanceof LambdaExpression lambdaExpression && lambdaExpression.getClass() == LambdaExpression.class)
+                return lambdaExpression.enclosedBy(scope.detached());
             return value;
         } finally {
             elContext.exitLambdaScope();
         }
     }
 
+    private LambdaExpression enclosedBy(Map<String, Object> scope) {
+        Map<String, Object> captured = scope;
+        if (!outerLambdaArguments.isEmpty()) {
+            var merged = new HashMap<>(outerLambdaArguments);
+            merged.putAll(scope);
+            captured = Collections.unmodifiableMap(merged);
+        }
+        var enclosed = new LambdaExpression(formalParameters, expression, captured);
+        enclosed.context = context;
+        return enclosed;
+    }
+
     /**
      * Invoke the encapsulated Lambda expression.
      * <p>
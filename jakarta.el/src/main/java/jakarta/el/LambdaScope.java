@@ -0,0 +1,54 @@
+package jakarta.el;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The arguments of one invocation of a {@link LambdaExpression}, linked to the arguments captured from the enclosing
+ * Lambda expressions. A scope is never modified after it has been created, so it can be captured by the Lambda
+ * expressions it returns and shared between threads.
+ */
+final class LambdaScope extends AbstractMap<String, Object> {
+
+    static final Map<String, Object> EMPTY = Map.of();
+
+    private final List<String> names;
+    private final Object[] values;
+    private final Map<String, Object> enclosing;
+
+    LambdaScope(List<String> names, Object[] values, Map<String, Object> enclosing) {
+        this.names = names;
+        this.values = values;
+        this.enclosing = enclosing;
+    }
+
+    LambdaScope detached() {
+        return new LambdaScope(names, Arrays.copyOf(values, names.size()), enclosing);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return names.contains(key) || enclosing.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = names.lastIndexOf(key);
+        if (index >= 0)
+            return values[index];
+        return enclosing.get(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> entries = new LinkedHashMap<>(enclosing);
+        for (int i = 0; i < names.size(); i++) {
+            entries.put(names.get(i), values[i]);
+        }
+        return entries.entrySet();
+    }
+}
@@ -1,9 +1,16 @@
 package jakarta.el;
 
 import java.beans.FeatureDescriptor;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.WeakHashMap;
 
 /**
  * Defines property resolution behavior on instances of {@link java.util.List}.
@@ -29,6 +36,9 @@ import java.util.Objects;
  * @since Jakarta Server Pages 2.1
  */
 public class ListELResolver extends ELResolver {
+    // Keyed weakly by context, so that a cursor lives as long as the context that reads through it.
+    private static final Map<ELContext, SequentialCursor> CURSORS = Collections.synchronizedMap(new WeakHashMap<>());
+
     private final boolean readyOnly;
 
     /**
@@ -47,6 +57,7 @@ public class ListELResolver extends ELResolver {
         readyOnly = isReadOnly;
     }
 
+
     /**
      * If the base object is a list, returns the most general type that this resolver accepts for the <code>property</code>
      * argument. Otherwise, returns <code>null</code>.
@@ -114,13 +125,18 @@ public class ListELResolver extends ELResolver {
         if (!(base instanceof List<?>))
             return null;
         context.setPropertyResolved(base, property);
-        int index = toString(property);
+        int index = toIndex(property);
         if (index < 0 || index >= ((List<?>) base).size()) {
             throw new PropertyNotFoundException();
         }
         return Object.class;
     }
 
+    @Override
+    boolean mayResolve(Class<?> baseType) {
+        return getClass() != ListELResolver.class || baseType != null && List.class.isAssignableFrom(baseType);
+    }
+
     /**
      * If the base object is a list, returns the value at the given index. The index is specified by the
      * <code>property</code> argument, and coerced into an integer. If the coercion could not be performed, an
@@ -148,11 +164,11 @@ public class ListELResolver extends ELResolver {
         if (!(base instanceof List<?>))
             return null;
         context.setPropertyResolved(base, property);
-        int index = toString(property);
+        int index = toIndex(property);
         if (index < 0 || index >= ((List<?>) base).size()) {
             return null;
         }
-        return ((List<?>) base).get(index);
+        return get(context, (List<?>) base, index);
     }
 
     /**
@@ -193,18 +209,11 @@ public class ListELResolver extends ELResolver {
         if (!(base instanceof List<?>))
             return false;
         context.setPropertyResolved(base, property);
-        int index = toString(property);
+        int index = toIndex(property);
         if (index < 0 || index >= ((List<?>) base).size()) {
             throw new PropertyNotFoundException();
         }
-        if (readyOnly)
-            return true;
-        try {
-            ((List<?>) base).add(null);
-            return false;
-        } catch (Exception ignored) {
-            return true;
-        }
+        return readyOnly || CollectionWritability.isReadOnly(base);
     }
 
     /**
@@ -253,11 +262,11 @@ public class ListELResolver extends ELResolver {
         if (!(base instanceof List<?>))
             return;
         context.setPropertyResolved(base, property);
-        int index = toString(property);
+        int index = toIndex(property);
         if (index < 0 || index >= ((List<?>) base).size()) {
             throw new PropertyNotFoundException();
         }
-        if (readyOnly)
+        if (readyOnly || CollectionWritability.isReadOnly(base))
             throw new PropertyNotWritableException();
         try {
             ((List<Object>) base).set(index, value);
@@ -266,11 +275,56 @@ public class ListELResolver extends ELResolver {
         }
     }
 
-    private int toString(Object value) {
+    private static Object get(ELContext context, List<?> list, int index) {
+        if (list instanceof RandomAccess)
+            return list.get(index);
+        return CURSORS.computeIfAbsent(context, ignored -> new SequentialCursor()).get(list, index);
+    }
+
+    private int toIndex(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte)
+            return ((Number) value).intValue();
+        if (value instanceof Long longValue) {
+            if (longValue < Integer.MIN_VALUE || longValue > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Index %d is out of the int range".formatted(longValue));
+            return longValue.intValue();
+        }
         try {
             return Integer.parseInt(value.toString());
         } catch (Exception exception) {
             throw new IllegalArgumentException(exception);
         }
     }
+
+    /**
+     * Remembers the position of the last element read from a list without random access, so that reading the elements
+     * of a <code>LinkedList</code> one index after the other does not walk the list from its head every time.
+     */
+    private static final class SequentialCursor {
+        private Position position;
+
+        private Object get(List<?> list, int index) {
+            Position current = position;
+            try {
+                if (current != null && current.list() == list) {
+                    ListIterator<?> iterator = current.iterator();
+                    if (index == iterator.nextIndex())
+                        return iterator.next();
+                    if (index == iterator.previousIndex()) {
+                        iterator.previous();
+                        return iterator.next();
+                    }
+                }
+                current = new Position(list, list.listIterator(index));
+                position = current;
+                return current.iterator().next();
+            } catch (ConcurrentModificationException | NoSuchElementException e) {
+                position = null;
+                return list.get(index);
+            }
+        }
+    }
+
+    private record Position(List<?> list, ListIterator<?> iterator) {
+    }
 }
@@ -48,6 +48,7 @@ public class MapELResolver extends ELResolver {
         readyOnly = isReadOnly;
     }
 
+
     /**
      * If the base object is a map, returns the most general type that this resolver accepts for the <code>property</code>
      * argument. Otherwise, returns <code>null</code>.
@@ -137,6 +138,11 @@ public class MapELResolver extends ELResolver {
         return Object.class;
     }
 
+    @Override
+    boolean mayResolve(Class<?> baseType) {
+        return getClass() != MapELResolver.class || baseType != null && Map.class.isAssignableFrom(baseType);
+    }
+
     /**
      * If the base object is a map, returns the value associated with the given key, as specified by the
      * <code>property</code> argument. If the key was not found, <code>null</code> is returned.
@@ -211,12 +217,7 @@ public class MapELResolver extends ELResolver {
         if (!(base instanceof Map<?, ?>))
             return false;
         context.setPropertyResolved(base, property);
-        try {
-            ((Map<?, ?>) base).putAll(Collections.emptyMap());
-            return false;
-        } catch (Exception ignored) {
-            return true;
-        }
+        return CollectionWritability.isReadOnly(base);
     }
 
     /**
@@ -263,6 +264,8 @@ public class MapELResolver extends ELResolver {
         if (!(base instanceof Map<?, ?>))
             return;
         context.setPropertyResolved(base, property);
+        if (CollectionWritability.isReadOnly(base))
+            throw new PropertyNotWritableException();
         try {
             ((Map<Object, Object>) base).put(property, value);
         } catch (Exception rootCause) {
@@ -0,0 +1,229 @@
+package jakarta.el;
+
+import java.beans.FeatureDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Defines property resolution behavior on instances of {@link java.lang.Record}.
+ *
+ * <p>
+ * This resolver handles base objects that are records, and properties that are the names of one of their components.
+ * The components of a record class are discovered once, and read through their accessor methods. Since record
+ * components cannot be modified, this resolver is always read-only for the properties it handles.
+ * </p>
+ *
+ * <p>
+ * Properties that are not record components are left unresolved, so that a following {@link BeanELResolver} can still
+ * handle them.
+ * </p>
+ *
+ * @see CompositeELResolver
+ * @see ELResolver
+ * @see java.lang.Record
+ */
+public class RecordELResolver extends ELResolver {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Module THIS_MODULE = RecordELResolver.class.getModule();
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<Map<String, Component>> COMPONENTS = new ClassValue<>() {
+        @Override
+        protected Map<String, Component> computeValue(Class<?> type) {
+            if (!type.isRecord())
+                return Map.of();
+            var module = type.getModule();
+            if (!THIS_MODULE.canRead(module))
+                THIS_MODULE.addReads(module);
+            RecordComponent[] recordComponents = type.getRecordComponents();
+            Component[] components = new Component[recordComponents.length];
+            for (int i = 0; i < recordComponents.length; i++) {
+                RecordComponent recordComponent = recordComponents[i];
+                MethodHandle accessor = unreflect(recordComponent.getAccessor());
+                if (accessor == null)
+                    return Map.of();
+                components[i] = new Component(recordComponent.getName(), recordComponent.getType(), accessor.asType(ACCESSOR_TYPE));
+            }
+            Map<String, Component> componentsByName = new LinkedHashMap<>();
+            for (Component component : components) {
+                componentsByName.put(component.name(), component);
+            }
+            return Collections.unmodifiableMap(componentsByName);
+        }
+    };
+
+    /**
+     * Creates a new <code>RecordELResolver</code>.
+     */
+    public RecordELResolver() {
+    }
+
+    /**
+     * If the base object is a record, returns <code>String.class</code>, since its properties are component names.
+     * Otherwise, returns <code>null</code>.
+     *
+     * @param context The context of this evaluation.
+     * @param base    The record to analyze.
+     * @return <code>null</code> if base is not a record; otherwise <code>String.class</code>.
+     */
+    @Override
+    public Class<?> getCommonPropertyType(ELContext context, Object base) {
+        if (base instanceof Record)
+            return String.class;
+        return null;
+    }
+
+    /**
+     * If the base object is a record, returns a <code>FeatureDescriptor</code> for each of its components, with the
+     * {@link ELResolver#TYPE} attribute set to the declared type of the component and the
+     * {@link ELResolver#RESOLVABLE_AT_DESIGN_TIME} attribute set to <code>true</code>. Otherwise, returns
+     * <code>null</code>.
+     *
+     * @param context The context of this evaluation.
+     * @param base    The record to analyze.
+     * @return An <code>Iterator</code> over the components of the record, or <code>null</code>.
+     */
+    @Override
+    public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+        if (!(base instanceof Record))
+            return null;
+        List<FeatureDescriptor> descriptors = new ArrayList<>();
+        for (Component component : COMPONENTS.get(base.getClass()).values()) {
+            var descriptor = new FeatureDescriptor();
+            descriptor.setName(component.name());
+            descriptor.setDisplayName(component.name());
+            descriptor.setValue(TYPE, component.type());
+            descriptor.setValue(RESOLVABLE_AT_DESIGN_TIME, true);
+            descriptors.add(descriptor);
+        }
+        return descriptors.iterator();
+    }
+
+    /**
+     * If the base object is a record and the property is the name of one of its components, returns the declared type of
+     * that component.
+     *
+     * @param context  The context of this evaluation.
+     * @param base     The record to analyze.
+     * @param property The name of the component.
+     * @return If the <code>propertyResolved</code> property of <code>ELContext</code> was set to <code>true</code>, then
+     * the declared type of the component; otherwise undefined.
+     * @throws NullPointerException if context is <code>null</code>
+     */
+    @Override
+    public Class<?> getType(ELContext context, Object base, Object property) {
+        Objects.requireNonNull(context);
+        Component component = component(base, property);
+        if (component == null)
+            return null;
+        context.setPropertyResolved(base, property);
+        return component.type();
+    }
+
+    @Override
+    boolean mayResolve(Class<?> baseType) {
+        return getClass() != RecordELResolver.class || baseType != null && baseType.isRecord();
+    }
+
+    /**
+     * If the base object is a record and the property is the name of one of its components, returns the value of that
+     * component.
+     *
+     * @param context  The context of this evaluation.
+     * @param base     The record whose component value is to be returned.
+     * @param property The name of the component.
+     * @return If the <code>propertyResolved</code> property of <code>ELContext</code> was set to <code>true</code>, then
+     * the value of the component; otherwise undefined.
+     * @throws NullPointerException if context is <code>null</code>
+     * @throws ELException          if the accessor of the component threw an exception. The thrown exception is included as
+     *                              the cause property of this exception.
+     */
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+        Objects.requireNonNull(context);
+        Component component = component(base, property);
+        if (component == null)
+            return null;
+        try {
+            var result = (Object) component.accessor().invokeExact(base);
+            context.setPropertyResolved(base, property);
+            return result;
+        } catch (Throwable throwable) {
+            throw new ELException("Error getting property %s.%s".formatted(base.getClass(), property), throwable);
+        }
+    }
+
+    /**
+     * If the base object is a record and the property is the name of one of its components, always returns
+     * <code>true</code>, since record components cannot be modified.
+     *
+     * @param context  The context of this evaluation.
+     * @param base     The record to analyze.
+     * @param property The name of the component.
+     * @return If the <code>propertyResolved</code> property of <code>ELContext</code> was set to <code>true</code>, then
+     * <code>true</code>; otherwise undefined.
+     * @throws NullPointerException if context is <code>null</code>
+     */
+    @Override
+    public boolean isReadOnly(ELContext context, Object base, Object property) {
+        Objects.requireNonNull(context);
+        Component component = component(base, property);
+        if (component == null)
+            return false;
+        context.setPropertyResolved(base, property);
+        return true;
+    }
+
+    /**
+     * If the base object is a record and the property is the name of one of its components, always throws
+     * <code>PropertyNotWritableException</code>, since record components cannot be modified.
+     *
+     * @param context  The context of this evaluation.
+     * @param base     The record to be modified.
+     * @param property The name of the component.
+     * @param value    The value to be set.
+     * @throws NullPointerException         if context is <code>null</code>
+     * @throws PropertyNotWritableException if the property is a component of the record.
+     */
+    @Override
+    public void setValue(ELContext context, Object base, Object property, Object value) {
+        Objects.requireNonNull(context);
+        Component component = component(base, property);
+        if (component == null)
+            return;
+        context.setPropertyResolved(base, property);
+        throw new PropertyNotWritableException("Property %s of %s is a record component".formatted(property, base.getClass()));
+    }
+
+    private static Component component(Object base, Object property) {
+        if (!(base instanceof Record) || !(property instanceof String name))
+            return null;
+        return COMPONENTS.get(base.getClass()).get(name);
+    }
+
+    private static MethodHandle unreflect(Method accessor) {
+        try {
+            return LOOKUP.unreflect(accessor);
+        } catch (IllegalAccessException e) {
+            if (!accessor.trySetAccessible())
+                return null;
+            try {
+                return LOOKUP.unreflect(accessor);
+            } catch (IllegalAccessException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private record Component(String name, Class<?> type, MethodHandle accessor) {
+    }
+}
@@ -1,11 +1,17 @@
 package jakarta.el;
 
 import java.beans.FeatureDescriptor;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Defines property resolution behavior on instances of {@link java.util.ResourceBundle}.
@@ -19,6 +25,12 @@ import java.util.ResourceBundle;
  * This resolver is read only and will throw a {@link PropertyNotWritableException} if <code>setValue</code> is called.
  *
  * <p>
+ * The result of looking up a key, including the fallback for a missing key, is cached per bundle instance. Bundles are
+ * compared by identity and held weakly, so each locale and each bundle reloaded after
+ * {@link ResourceBundle#clearCache()} has its own cache. Only a bounded number of missing keys is remembered per bundle.
+ * The contents of a bundle are assumed not to change.
+ *
+ * <p>
  * <code>ELResolver</code>s are combined together using {@link CompositeELResolver}s, to define rich semantics for
  * evaluating an expression. See the javadocs for {@link ELResolver} for details.
  *
@@ -28,6 +40,9 @@ import java.util.ResourceBundle;
  * @since Jakarta Server Pages 2.1
  */
 public class ResourceBundleELResolver extends ELResolver {
+    private static final int MAXIMUM_MISSING_KEYS = 256;
+    private static final Map<Object, Lookups> LOOKUPS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ResourceBundle> CLEARED = new ReferenceQueue<>();
 
     public ResourceBundleELResolver() {
     }
@@ -108,6 +123,11 @@ public class ResourceBundleELResolver extends ELResolver {
         return null;
     }
 
+    @Override
+    boolean mayResolve(Class<?> baseType) {
+        return getClass() != ResourceBundleELResolver.class || baseType != null && ResourceBundle.class.isAssignableFrom(baseType);
+    }
+
     /**
      * If the base object is an instance of <code>ResourceBundle</code>, the provided property will first be coerced to a
      * <code>String</code>. The <code>Object</code> returned by <code>getObject</code> on the base
@@ -135,10 +155,73 @@ public class ResourceBundleELResolver extends ELResolver {
         if (!(base instanceof ResourceBundle resourceBundle))
             return null;
         context.setPropertyResolved(base, property);
-        try {
-            return resourceBundle.getObject(property.toString());
-        } catch (MissingResourceException missingResourceException) {
-            return "???" + property + "???";
+        return lookups(resourceBundle).get(resourceBundle, property.toString());
+    }
+
+    private static Lookups lookups(ResourceBundle resourceBundle) {
+        Lookups lookups = LOOKUPS.get(new BundleKey(resourceBundle));
+        if (lookups != null)
+            return lookups;
+        for (Reference<?> cleared; (cleared = CLEARED.poll()) != null; ) {
+            LOOKUPS.remove(cleared);
+        }
+        return LOOKUPS.computeIfAbsent(new WeakBundleKey(resourceBundle), ignored -> new Lookups());
+    }
+
+    private static final class Lookups {
+        private final Map<String, Object> values = new ConcurrentHashMap<>();
+        private final AtomicInteger missingKeys = new AtomicInteger();
+
+        private Object get(ResourceBundle resourceBundle, String key) {
+            Object value = values.get(key);
+            if (value != null)
+                return value;
+            try {
+                value = resourceBundle.getObject(key);
+            } catch (MissingResourceException missingResourceException) {
+                value = "???" + key + "???";
+                if (missingKeys.get() >= MAXIMUM_MISSING_KEYS || missingKeys.incrementAndGet() > MAXIMUM_MISSING_KEYS)
+                    return value;
+            }
+            values.put(key, value);
+            return value;
+        }
+    }
+
+    // Finds the entry of a bundle without allocating a reference; equal to the weak key of the same bundle.
+    private record BundleKey(ResourceBundle resourceBundle) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof WeakBundleKey weakKey ? weakKey.get() == resourceBundle
+                    : obj instanceof BundleKey key && key.resourceBundle == resourceBundle;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(resourceBundle);
+        }
+    }
+
+    private static final class WeakBundleKey extends WeakReference<ResourceBundle> {
+        private final int hash;
+
+        private WeakBundleKey(ResourceBundle resourceBundle) {
+            super(resourceBundle, CLEARED);
+            this.hash = System.identityHashCode(resourceBundle);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this)
+                return true;
+            ResourceBundle resourceBundle = get();
+            return resourceBundle != null && (obj instanceof WeakBundleKey weakKey ? weakKey.get() == resourceBundle
+                    : obj instanceof BundleKey key && key.resourceBundle() == resourceBundle);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
         }
     }
 
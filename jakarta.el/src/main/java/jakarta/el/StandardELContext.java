@@ -72,6 +72,7 @@ public class StandardELContext extends ELContext {
      * <li>A {@link ResourceBundleELResolver} for resolving ResourceBundle properties</li>
      * <li>A {@link ListELResolver} for resolving List properties</li>
      * <li>An {@link ArrayELResolver} for resolving array properties</li>
+     * <li>A {@link RecordELResolver} for resolving record components</li>
      * <li>A {@link BeanELResolver} for resolving bean properties</li>
      * </ol>
      *
@@ -94,6 +95,7 @@ public class StandardELContext extends ELContext {
         resolver.add(new ResourceBundleELResolver());
         resolver.add(new ListELResolver());
         resolver.add(new ArrayELResolver());
+        resolver.add(new RecordELResolver());
         resolver.add(new BeanELResolver());
         return resolver;
     }
@@ -151,6 +151,11 @@ public class StaticFieldELResolver extends ELResolver {
         }
     }
 
+    @Override
+    boolean mayResolve(Class<?> baseType) {
+        return getClass() != StaticFieldELResolver.class || baseType == ELClass.class;
+    }
+
     /**
      * <p>
      * Returns the value of a static field.
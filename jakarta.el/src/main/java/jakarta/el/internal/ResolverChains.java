@@ -0,0 +1,44 @@
+package jakarta.el.internal;
+
+import jakarta.el.CompositeELResolver;
+import jakarta.el.ELResolver;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Not part of the Jakarta Expression Language API. Lets the implementation module see which component resolvers a
+ * <code>CompositeELResolver</code> consults for a base type; the package is only exported to that module.
+ */
+public final class ResolverChains {
+
+    private static volatile BiFunction<CompositeELResolver, Class<?>, List<ELResolver>> access;
+
+    private ResolverChains() {
+    }
+
+    /**
+     * Installed once by <code>CompositeELResolver</code>.
+     *
+     * @param access the function that lists the consulted resolvers.
+     */
+    public static void install(BiFunction<CompositeELResolver, Class<?>, List<ELResolver>> access) {
+        if (ResolverChains.access != null)
+            throw new IllegalStateException("Resolver chain access is already installed");
+        ResolverChains.access = Objects.requireNonNull(access);
+    }
+
+    /**
+     * Returns the resolvers consulted for a base of the given type, in the order they are consulted. Standard resolvers
+     * that never handle such a base are left out, and nested <code>CompositeELResolver</code>s are replaced by the
+     * resolvers they consult.
+     *
+     * @param resolver the composite resolver.
+     * @param baseType the class of the base object, or <code>null</code> for a top-level variable.
+     * @return an unmodifiable list of the resolvers consulted for such a base.
+     */
+    public static List<ELResolver> consulted(CompositeELResolver resolver, Class<?> baseType) {
+        return access.apply(resolver, baseType);
+    }
+}
@@ -1,6 +1,9 @@
+// The implementation module is not visible when this module is compiled.
+@SuppressWarnings("module")
 module jakarta.el {
     requires transitive java.desktop;
     requires jdk.dynalink;
     exports jakarta.el;
+    exports jakarta.el.internal to dev.thihup.joel;
     uses jakarta.el.ExpressionFactory;
 }